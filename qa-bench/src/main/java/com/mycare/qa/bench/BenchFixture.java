@@ -0,0 +1,72 @@
+package com.mycare.qa.bench;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.DriverFactory;
+import com.mycare.qa.driver.LaunchProfile;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+
+/**
+ * Headless browser on public/test.html, with the data-testid markup the page objects look for added on top.
+ * Everything is local, so results do not depend on the app, the API or the network.
+ */
+final class BenchFixture {
+    private static final String MARKUP = """
+            var root = document.createElement('div');
+            root.style.cssText = 'position: relative; z-index: 1000; background: #fff; padding: 8px;';
+            root.innerHTML =
+                '<nav>'
+                + '<a data-testid="home-link" href="#home">Home</a> '
+                + '<a data-testid="services-link" href="#services">Services</a> '
+                + '<a data-testid="about-link" href="#about">About</a> '
+                + '<a data-testid="contact-link" href="#contact">Contact</a> '
+                + '<a data-testid="profile-link" href="#profile">Profile</a>'
+                + '</nav>'
+                + '<h1 data-testid="page-title">MyCare</h1>'
+                + '<form onsubmit="return false">'
+                + '<input data-testid="email-input" type="email">'
+                + '<input data-testid="password-input" type="password">'
+                + '<button data-testid="submit-button" type="button">Submit</button>'
+                + '</form>'
+                + '<button data-testid="open-button" type="button">Open</button>'
+                + '<span style="position: relative; display: inline-block;">'
+                + '<button data-testid="covered-button" type="button">Covered</button>'
+                + '<span style="position: absolute; inset: 0; background: transparent;"></span>'
+                + '</span>'
+                + '<div data-testid="delayed-slot"></div>';
+            document.body.insertBefore(root, document.body.firstChild);
+            """;
+
+    private BenchFixture() {
+    }
+
+    /**
+     * Headless profile from -Dlaunch.profile, defaulting to the ci profile; the browser from -Dbench.browser.
+     */
+    static LaunchProfile profile() {
+        return LaunchProfile.resolve(TestProperties.get("bench.browser", "chrome"), "ci");
+    }
+
+    static String pageUrl() {
+        return Path.of(TestProperties.get("bench.page", "../public/test.html"))
+                .toAbsolutePath().normalize().toUri().toString();
+    }
+
+    static WebDriver open() {
+        WebDriver driver = DriverFactory.create(profile());
+        try {
+            load(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+    }
+
+    static void load(WebDriver driver) {
+        driver.get(pageUrl());
+        ((JavascriptExecutor) driver).executeScript(MARKUP);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycare.qa.bench;
+
+import com.mycare.qa.config.TestBase;
+import com.mycare.qa.support.WaitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestBase.clickElement on a free button against one covered by an overlay, which pays for the rejected native
+ * click before falling back to a JS click. jsClick is the fallback on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClickBenchmark {
+    private static final String OPEN_BUTTON = "[data-testid='open-button']";
+    private static final String COVERED_BUTTON = "[data-testid='covered-button']";
+
+    private WebDriver driver;
+    private Harness harness;
+    private PrintStream stderr;
+
+    /**
+     * Runs clickElement outside a TestNG run, on the benchmark's own session.
+     */
+    static class Harness extends TestBase {
+        private final WebDriver driver;
+        private final WaitEngine wait;
+
+        Harness(WebDriver driver) {
+            this.driver = driver;
+            this.wait = new WaitEngine(driver);
+        }
+
+        @Override
+        protected WebDriver getDriver() {
+            return driver;
+        }
+
+        @Override
+        protected WaitEngine getWait() {
+            return wait;
+        }
+
+        void click(String locator) {
+            clickElement(locator);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = BenchFixture.open();
+        harness = new Harness(driver);
+        // clickElement logs every intercepted click; console output is not part of the path being measured
+        stderr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setErr(stderr);
+        driver.quit();
+    }
+
+    @Benchmark
+    public void directClick() {
+        harness.click(OPEN_BUTTON);
+    }
+
+    @Benchmark
+    public void interceptedClick() {
+        harness.click(COVERED_BUTTON);
+    }
+
+    @Benchmark
+    public Object jsClick() {
+        return ((JavascriptExecutor) driver).executeScript("arguments[0].click();",
+                driver.findElement(By.cssSelector(COVERED_BUTTON)));
+    }
+}
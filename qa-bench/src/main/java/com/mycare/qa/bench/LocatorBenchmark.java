@@ -0,0 +1,95 @@
+package com.mycare.qa.bench;
+
+import com.mycare.qa.pages.NavigationPage;
+import com.mycare.qa.support.ElementQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visibility of the four navigation links, read the three ways the page objects do it: PageFactory proxies
+ * (a lookup plus a call per element), direct By.cssSelector lookups and one ElementQuery snapshot script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+    private static final List<By> SELECTORS = NavigationPage.NAVIGATION_LINKS.stream()
+            .map(testId -> By.cssSelector("a[data-testid='" + testId + "']"))
+            .toList();
+
+    private WebDriver driver;
+    private NavigationLinks links;
+    private ElementQuery query;
+
+    /**
+     * Same declarations as NavigationPage, whose fields are private.
+     */
+    static class NavigationLinks {
+        @FindBy(css = "a[data-testid='home-link']")
+        WebElement homeLink;
+
+        @FindBy(css = "a[data-testid='services-link']")
+        WebElement servicesLink;
+
+        @FindBy(css = "a[data-testid='about-link']")
+        WebElement aboutLink;
+
+        @FindBy(css = "a[data-testid='contact-link']")
+        WebElement contactLink;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = BenchFixture.open();
+        links = new NavigationLinks();
+        PageFactory.initElements(driver, links);
+        query = new ElementQuery(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public void findByProxy(Blackhole bh) {
+        bh.consume(links.homeLink.isDisplayed());
+        bh.consume(links.servicesLink.isDisplayed());
+        bh.consume(links.aboutLink.isDisplayed());
+        bh.consume(links.contactLink.isDisplayed());
+    }
+
+    @Benchmark
+    public void cssSelector(Blackhole bh) {
+        for (By selector : SELECTORS) {
+            bh.consume(driver.findElement(selector).isDisplayed());
+        }
+    }
+
+    @Benchmark
+    public boolean batchedScript() {
+        return query.snapshot(NavigationPage.NAVIGATION_LINKS).allVisible();
+    }
+}
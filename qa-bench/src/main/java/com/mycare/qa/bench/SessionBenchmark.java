@@ -0,0 +1,65 @@
+package com.mycare.qa.bench;
+
+import com.mycare.qa.driver.DriverFactory;
+import com.mycare.qa.driver.DriverPool;
+import com.mycare.qa.driver.LaunchProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a test pays for its browser: launching and quitting a fresh driver, against checking a warm session out
+ * of the DriverPool and resetting it on release. Single shots, as a browser launch is far too slow to loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SessionBenchmark {
+    private LaunchProfile profile;
+    private String url;
+    private DriverPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        profile = BenchFixture.profile();
+        url = BenchFixture.pageUrl();
+        pool = DriverPool.create(1);
+        // Warm the single pooled session so pooledReset never measures a launch
+        pool.release(pool.checkout(profile, url));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void freshDriver() {
+        WebDriver driver = DriverFactory.create(profile);
+        try {
+            driver.get(url);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public void pooledReset() {
+        pool.release(pool.checkout(profile, url));
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycare.qa.bench;
+
+import com.mycare.qa.support.WaitEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from an element being scheduled to appear until WaitEngine.visible returns, per polling interval.
+ * Anything above appearAfterMs is the cost of polling: the overshoot to the next poll plus its round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class WaitBenchmark {
+    private static final String SCHEDULE = """
+            var slot = document.querySelector("[data-testid='delayed-slot']");
+            slot.innerHTML = '';
+            setTimeout(function () {
+              slot.innerHTML = '<p data-testid="delayed-element">Ready</p>';
+            }, arguments[0]);
+            """;
+    private static final By DELAYED = By.cssSelector("[data-testid='delayed-element']");
+
+    @Param({"10", "50", "250"})
+    public int pollingMs;
+
+    @Param({"0", "100"})
+    public int appearAfterMs;
+
+    private WebDriver driver;
+    private WaitEngine wait;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = BenchFixture.open();
+        wait = new WaitEngine(driver, Duration.ofSeconds(5), Duration.ofMillis(pollingMs));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public WebElement visible() {
+        ((JavascriptExecutor) driver).executeScript(SCHEDULE, appearAfterMs);
+        return wait.visible(DELAYED);
+    }
+}
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Runs the functional suite as N shards in parallel JVMs and merges their results.
+# On separate machines, run `mvn test -Dshard=i/N` on each agent instead and merge the
+# collected target/shards/shard-i directories with ShardReportMerger.
+#
+#   ./run-shards.sh 4 [extra maven args]
+#   ./run-shards.sh 4 -Pcds      (class-data sharing; each shard keeps its own archive under target/cds)
+set -euo pipefail
+
+SHARDS=${1:-2}
+shift || true
+cd "$(dirname "$0")"
+
+# process-test-classes also packages the test-jar the cds profile runs from
+mvn -B -q process-test-classes "$@"
+rm -rf target/shards
+mkdir -p target/shards target/cds
+
+pids=()
+for ((i = 1; i <= SHARDS; i++)); do
+    mvn -B surefire:test "$@" \
+        -Dshard="$i/$SHARDS" \
+        -Dsurefire.reports.dir="target/shards/shard-$i" \
+        -Dreports.dir="target/shards/shard-$i" \
+        -Dcds.archive="target/cds/shard-$i.jsa" \
+        > "target/shards/shard-$i.log" 2>&1 &
+    pids+=($!)
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if ! wait "${pids[$i]}"; then
+        echo "Shard $((i + 1))/$SHARDS failed, see target/shards/shard-$((i + 1)).log"
+        status=1
+    fi
+done
+
+java -cp target/test-classes com.mycare.qa.shard.ShardReportMerger target/shards target/surefire-reports
+exit $status
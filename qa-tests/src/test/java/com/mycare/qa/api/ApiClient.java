@@ -0,0 +1,95 @@
+package com.mycare.qa.api;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Minimal JSON client for the Express API in server/routes, used to set up state without driving the UI.
+ */
+public class ApiClient {
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private static final Json JSON = new Json();
+
+    private final String baseUrl;
+
+    public ApiClient() {
+        this(TestProperties.get("api.url", "http://localhost:5000/api"));
+    }
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public static String toJson(Object value) {
+        return JSON.toJson(value);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Response get(String path, String token) {
+        return send(request(path, token).GET().build());
+    }
+
+    public Response post(String path, Object body, String token) {
+        return send(request(path, token)
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(body)))
+                .build());
+    }
+
+    public Response put(String path, Object body, String token) {
+        return send(request(path, token)
+                .PUT(HttpRequest.BodyPublishers.ofString(JSON.toJson(body)))
+                .build());
+    }
+
+    public Response delete(String path, String token) {
+        return send(request(path, token).DELETE().build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("API call failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during API call: " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    public record Response(int status, String body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> json() {
+            return body == null || body.isBlank() ? Map.of() : JSON.toType(body, Map.class);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycare.qa.api;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands an API-issued session to the browser the same way useAuth does (token and user in localStorage), so only
+ * the login tests themselves go through the modal. Accounts that can log in with a password (login.email, users
+ * from the dump/mycare baseline) get their session from POST /api/auth/login, cached per account for the whole
+ * suite. Seeded fixture users cannot, and hold the session issued at registration instead.
+ */
+public final class SessionFactory {
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final ApiClient API = new ApiClient();
+
+    private SessionFactory() {
+    }
+
+    public static Session sessionFor(String email, String password) {
+        return SESSIONS.computeIfAbsent(email.toLowerCase() + "\n" + password, key -> login(email, password));
+    }
+
+    /**
+     * Logs the account in through the API, or reuses its cached session, and seeds it into the browser.
+     */
+    public static Session loginAs(WebDriver driver, String email, String password) {
+        return loginAs(driver, sessionFor(email, password));
+    }
+
+    /**
+     * Seeds the session into the browser and reloads so the app picks it up on mount. The browser must already be
+     * on the app's origin.
+     */
+    public static Session loginAs(WebDriver driver, Session session) {
+        ((JavascriptExecutor) driver).executeScript(
+                "window.localStorage.setItem('token', arguments[0]);"
+                        + "window.localStorage.setItem('user', arguments[1]);",
+                session.token(), session.userJson());
+        driver.navigate().refresh();
+        return session;
+    }
+
+    /**
+     * Drops cached sessions, e.g. after the backing data has been reset.
+     */
+    public static void clear() {
+        SESSIONS.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Session login(String email, String password) {
+        ApiClient.Response response = API.post("/auth/login", Map.of("email", email, "password", password), null);
+        Map<String, Object> body = response.json();
+        if (!response.isSuccess() || !Boolean.TRUE.equals(body.get("success")) || body.get("token") == null) {
+            throw new IllegalStateException("API login failed for " + email + " (HTTP " + response.status() + "): "
+                    + body.getOrDefault("error", response.body()));
+        }
+        Map<String, Object> user = (Map<String, Object>) body.get("user");
+        return new Session((String) body.get("token"), ApiClient.toJson(user), user);
+    }
+
+    public record Session(String token, String userJson, Map<String, Object> user) {
+
+        public String userId() {
+            Object id = user.containsKey("_id") ? user.get("_id") : user.get("id");
+            return id == null ? null : id.toString();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycare.qa.artifacts;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded background pool that compresses and writes failure artifacts. A burst of failures fills the queue
+ * (artifacts.writer.queue) rather than the heap; past that, captures are dropped with a message instead of making
+ * the failing test wait.
+ */
+public final class ArtifactWriter {
+    private static ThreadPoolExecutor executor;
+
+    private ArtifactWriter() {
+    }
+
+    public static void submit(String description, Runnable task) {
+        try {
+            executor().execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to write " + description + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("Artifact writer is full, dropped " + description);
+        }
+    }
+
+    /**
+     * Waits for queued artifacts to be written; called once at the end of the suite.
+     */
+    public static void drain(Duration timeout) {
+        ThreadPoolExecutor pool;
+        synchronized (ArtifactWriter.class) {
+            pool = executor;
+            executor = null;
+        }
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                System.err.println("Artifact writer did not finish within " + timeout.toSeconds() + " s, "
+                        + pool.getQueue().size() + " capture(s) not written");
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            int threads = Math.max(1, TestProperties.getInt("artifacts.writer.threads", 2));
+            int queue = Math.max(1, TestProperties.getInt("artifacts.writer.queue", 16));
+            AtomicInteger counter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queue), runnable -> {
+                        Thread thread = new Thread(runnable, "artifact-writer-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,197 @@
+package com.mycare.qa.artifacts;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.Cdp;
+import com.mycare.qa.report.ResultStream;
+import com.mycare.qa.report.StreamingResultListener;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the last artifacts.window.seconds of browser console output and network traffic for the running test and,
+ * if the test fails, saves a screenshot, the page source, the console log and a HAR under artifacts/ in the
+ * reports directory. Only the grab from the browser happens on the failing thread; compression and writing go to
+ * the {@link ArtifactWriter}. Console and network history need CDP, other browsers get the screenshot and page.
+ */
+public final class FailureCapture {
+    private static final Json JSON = new Json();
+
+    private final long windowMs = TestProperties.getLong("artifacts.window.seconds", 30) * 1000;
+    private final int maxEntries = TestProperties.getInt("artifacts.max.entries", 500);
+    private final Deque<ConsoleLine> console = new ArrayDeque<>();
+    private final NetworkLog network = new NetworkLog(windowMs, maxEntries);
+    private final boolean cdp;
+
+    private FailureCapture(WebDriver driver) {
+        this.cdp = Cdp.devTools(driver).map(devTools -> {
+            Cdp.send(devTools, "Network.enable", Map.of());
+            Cdp.send(devTools, "Runtime.enable", Map.of());
+            Cdp.send(devTools, "Log.enable", Map.of());
+            Cdp.on(devTools, "Network.requestWillBeSent", network::requestWillBeSent);
+            Cdp.on(devTools, "Network.responseReceived", network::responseReceived);
+            Cdp.on(devTools, "Network.loadingFinished", network::loadingFinished);
+            Cdp.on(devTools, "Network.loadingFailed", network::loadingFailed);
+            Cdp.on(devTools, "Runtime.consoleAPICalled", this::consoleApiCalled);
+            Cdp.on(devTools, "Runtime.exceptionThrown", this::exceptionThrown);
+            Cdp.on(devTools, "Log.entryAdded", this::logEntryAdded);
+            return true;
+        }).orElse(false);
+    }
+
+    public static boolean isEnabled() {
+        return TestProperties.getBoolean("artifacts.capture", true);
+    }
+
+    /**
+     * Starts recording console and network history for the test about to run on the session.
+     */
+    public static FailureCapture start(WebDriver driver) {
+        return new FailureCapture(driver);
+    }
+
+    /**
+     * Grabs the browser state on the calling thread and queues the files to be written. Each grab is attempted
+     * on its own, so a page that no longer answers still yields whatever the others got.
+     */
+    public void capture(WebDriver driver, String test, long resultId) {
+        long start = System.nanoTime();
+        byte[] screenshot = null;
+        String url = null;
+        String source = null;
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to take failure screenshot for " + test + ": " + e.getMessage());
+        }
+        try {
+            url = driver.getCurrentUrl();
+            source = driver.getPageSource();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read page source for " + test + ": " + e.getMessage());
+        }
+        List<String> consoleLines = cdp ? consoleLines() : null;
+        Map<String, Object> har = cdp ? network.toHar() : null;
+        long grabMs = (System.nanoTime() - start) / 1_000_000;
+
+        Path dir = TestProperties.reportsDir().resolve("artifacts")
+                .resolve(test + (resultId > 0 ? "-" + resultId : "-" + System.currentTimeMillis()));
+        byte[] png = screenshot;
+        String pageUrl = url;
+        String page = source;
+        ArtifactWriter.submit("failure artifacts for " + test, () -> {
+            List<String> files = write(dir, png, pageUrl, page, consoleLines, har);
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("id", resultId);
+            fields.put("test", test);
+            fields.put("grabMs", grabMs);
+            fields.put("files", files);
+            ResultStream.emit("artifacts", fields);
+        });
+    }
+
+    private static List<String> write(Path dir, byte[] screenshot, String url, String source,
+                                      List<String> consoleLines, Map<String, Object> har) {
+        List<String> files = new ArrayList<>();
+        try {
+            Files.createDirectories(dir);
+            if (screenshot != null) {
+                files.add(relative(Files.write(dir.resolve("screenshot.png"), screenshot)));
+            }
+            if (source != null) {
+                String page = "<!-- " + url + " -->\n" + source;
+                files.add(relative(gzip(dir.resolve("page.html.gz"), page)));
+            }
+            if (consoleLines != null) {
+                files.add(relative(Files.write(dir.resolve("console.log"), consoleLines)));
+            }
+            if (har != null) {
+                files.add(relative(gzip(dir.resolve("network.har.gz"), JSON.toJson(har))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write artifacts to " + dir, e);
+        }
+        return files;
+    }
+
+    private static Path gzip(Path file, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private static String relative(Path file) {
+        return StreamingResultListener.relative(file);
+    }
+
+    private synchronized List<String> consoleLines() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        return console.stream()
+                .filter(line -> line.timeMs() >= cutoff)
+                .map(line -> Instant.ofEpochMilli(line.timeMs()) + " " + line.level() + " " + line.text())
+                .toList();
+    }
+
+    private synchronized void add(long timeMs, String level, String text) {
+        console.addLast(new ConsoleLine(timeMs, level, text));
+        while (console.size() > maxEntries || console.peekFirst().timeMs() < timeMs - windowMs) {
+            console.removeFirst();
+        }
+    }
+
+    private void consoleApiCalled(Map<String, Object> event) {
+        StringBuilder text = new StringBuilder();
+        if (event.get("args") instanceof List<?> args) {
+            for (Object arg : args) {
+                if (arg instanceof Map<?, ?> remote) {
+                    Object value = remote.containsKey("value") ? remote.get("value") : remote.get("description");
+                    text.append(text.isEmpty() ? "" : " ").append(value);
+                }
+            }
+        }
+        add(time(event.get("timestamp")), String.valueOf(event.get("type")).toUpperCase(), text.toString());
+    }
+
+    private void exceptionThrown(Map<String, Object> event) {
+        Object details = event.get("exceptionDetails");
+        String text = String.valueOf(details);
+        if (details instanceof Map<?, ?> map) {
+            Object exception = map.get("exception");
+            text = exception instanceof Map<?, ?> thrown && thrown.get("description") != null
+                    ? String.valueOf(thrown.get("description")) : String.valueOf(map.get("text"));
+        }
+        add(time(event.get("timestamp")), "EXCEPTION", text);
+    }
+
+    private void logEntryAdded(Map<String, Object> event) {
+        if (event.get("entry") instanceof Map<?, ?> entry) {
+            String text = entry.get("text") + (entry.get("url") != null ? " (" + entry.get("url") + ")" : "");
+            add(time(entry.get("timestamp")), String.valueOf(entry.get("level")).toUpperCase(),
+                    "[" + entry.get("source") + "] " + text);
+        }
+    }
+
+    private static long time(Object timestamp) {
+        return timestamp instanceof Number number ? number.longValue() : System.currentTimeMillis();
+    }
+
+    private record ConsoleLine(long timeMs, String level, String text) {
+    }
+}
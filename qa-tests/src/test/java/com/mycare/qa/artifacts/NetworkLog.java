@@ -0,0 +1,171 @@
+package com.mycare.qa.artifacts;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolling record of the session's requests built from CDP Network events, kept to the last window of time and
+ * a maximum number of entries, and rendered as HAR 1.2 on demand.
+ */
+final class NetworkLog {
+    private final long windowMs;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    NetworkLog(long windowMs, int maxEntries) {
+        this.windowMs = windowMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void requestWillBeSent(Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        if (request == null) {
+            return;
+        }
+        String id = String.valueOf(event.get("requestId"));
+        Entry previous = entries.remove(id);
+        if (previous != null && event.get("redirectResponse") instanceof Map<?, ?> redirect) {
+            // The same request id is reused for every hop of a redirect chain; keep each hop as its own entry
+            previous.response((Map<String, Object>) redirect);
+            previous.endTimestamp = number(event.get("timestamp"));
+            entries.put(id + "/" + entries.size(), previous);
+        }
+        Entry entry = new Entry();
+        entry.wallTimeMs = (long) (number(event.get("wallTime")) * 1000);
+        entry.startTimestamp = number(event.get("timestamp"));
+        entry.method = String.valueOf(request.get("method"));
+        entry.url = String.valueOf(request.get("url"));
+        entry.requestHeaders = (Map<String, Object>) request.getOrDefault("headers", Map.of());
+        entries.put(id, entry);
+        trim(entry.wallTimeMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized void responseReceived(Map<String, Object> event) {
+        Entry entry = entries.get(String.valueOf(event.get("requestId")));
+        if (entry != null && event.get("response") instanceof Map<?, ?> response) {
+            entry.response((Map<String, Object>) response);
+        }
+    }
+
+    synchronized void loadingFinished(Map<String, Object> event) {
+        Entry entry = entries.get(String.valueOf(event.get("requestId")));
+        if (entry != null) {
+            entry.endTimestamp = number(event.get("timestamp"));
+            entry.encodedDataLength = (long) number(event.get("encodedDataLength"));
+        }
+    }
+
+    synchronized void loadingFailed(Map<String, Object> event) {
+        Entry entry = entries.get(String.valueOf(event.get("requestId")));
+        if (entry != null) {
+            entry.endTimestamp = number(event.get("timestamp"));
+            entry.error = String.valueOf(event.get("errorText"));
+        }
+    }
+
+    /**
+     * HAR document for the requests still inside the window; requests that had not finished have time -1.
+     */
+    synchronized Map<String, Object> toHar() {
+        trim(System.currentTimeMillis());
+        List<Map<String, Object>> harEntries = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            harEntries.add(entry.toHar());
+        }
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "mycare-qa", "version", "1.0"));
+        log.put("pages", List.of());
+        log.put("entries", harEntries);
+        return Map.of("log", log);
+    }
+
+    private void trim(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry oldest = iterator.next();
+            if (entries.size() <= maxEntries && oldest.wallTimeMs >= now - windowMs) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static List<Map<String, Object>> headers(Map<String, Object> headers) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        headers.forEach((name, value) -> list.add(Map.of("name", name, "value", String.valueOf(value))));
+        return list;
+    }
+
+    private static final class Entry {
+        long wallTimeMs;
+        double startTimestamp;
+        double endTimestamp;
+        String method;
+        String url;
+        Map<String, Object> requestHeaders;
+        int status;
+        String statusText = "";
+        String protocol = "";
+        String mimeType = "";
+        Map<String, Object> responseHeaders = Map.of();
+        long encodedDataLength = -1;
+        String error;
+
+        @SuppressWarnings("unchecked")
+        void response(Map<String, Object> response) {
+            status = (int) number(response.get("status"));
+            statusText = String.valueOf(response.getOrDefault("statusText", ""));
+            protocol = String.valueOf(response.getOrDefault("protocol", ""));
+            mimeType = String.valueOf(response.getOrDefault("mimeType", ""));
+            responseHeaders = (Map<String, Object>) response.getOrDefault("headers", Map.of());
+        }
+
+        Map<String, Object> toHar() {
+            double time = endTimestamp > 0 ? (endTimestamp - startTimestamp) * 1000 : -1;
+
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", method);
+            request.put("url", url);
+            request.put("httpVersion", protocol);
+            request.put("cookies", List.of());
+            request.put("headers", headers(requestHeaders));
+            request.put("queryString", List.of());
+            request.put("headersSize", -1);
+            request.put("bodySize", -1);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", status);
+            response.put("statusText", statusText);
+            response.put("httpVersion", protocol);
+            response.put("cookies", List.of());
+            response.put("headers", headers(responseHeaders));
+            response.put("content", Map.of("size", encodedDataLength, "mimeType", mimeType));
+            response.put("redirectURL", String.valueOf(responseHeaders.getOrDefault("location", "")));
+            response.put("headersSize", -1);
+            response.put("bodySize", encodedDataLength);
+            if (error != null) {
+                response.put("_error", error);
+            }
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("startedDateTime", Instant.ofEpochMilli(wallTimeMs).toString());
+            entry.put("time", time);
+            entry.put("request", request);
+            entry.put("response", response);
+            entry.put("cache", Map.of());
+            entry.put("timings", Map.of("send", 0, "wait", time, "receive", 0));
+            return entry;
+        }
+    }
+}
@@ -1,90 +1,382 @@
 package com.mycare.qa.config;
 
+import com.mycare.qa.api.SessionFactory;
+import com.mycare.qa.artifacts.ArtifactWriter;
+import com.mycare.qa.artifacts.FailureCapture;
+import com.mycare.qa.data.DatabaseSnapshot;
+import com.mycare.qa.data.Fixture;
+import com.mycare.qa.data.TestDataFactory;
+import com.mycare.qa.mock.MockBackend;
+import com.mycare.qa.mock.MockData;
+import com.mycare.qa.mock.MockScope;
+import com.mycare.qa.driver.DriverPool;
+import com.mycare.qa.driver.LaunchProfile;
+import com.mycare.qa.driver.NetworkConditions;
+import com.mycare.qa.driver.NetworkControl;
+import com.mycare.qa.driver.StartupTimings;
+import com.mycare.qa.matrix.BrowserMatrix;
+import com.mycare.qa.perf.PerfBaseline;
+import com.mycare.qa.perf.PerfBudgetListener;
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.report.StreamingResultListener;
+import com.mycare.qa.resilience.CircuitBreaker;
+import com.mycare.qa.resilience.FailureKind;
+import com.mycare.qa.resilience.HealthGate;
+import com.mycare.qa.support.AppIdle;
+import com.mycare.qa.support.ElementQuery;
+import com.mycare.qa.support.ElementSnapshot;
+import com.mycare.qa.support.WaitEngine;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.ElementClickInterceptedException;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Parameters;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.testng.xml.XmlSuite;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Listeners(PerfBudgetListener.class)
 public class TestBase {
-    protected WebDriver driver;
-    protected WebDriverWait wait;
+    private static final AtomicBoolean PERF_BASELINE_COMPARED = new AtomicBoolean();
+    private static final AtomicBoolean DATABASE_RESTORED = new AtomicBoolean();
+
+    // Test instances are shared between TestNG worker threads when running parallel="methods",
+    // so every piece of per-test state lives in a ThreadLocal
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private final ThreadLocal<DriverPool> driverPool = new ThreadLocal<>();
+    private final ThreadLocal<WaitEngine> wait = new ThreadLocal<>();
+    private final ThreadLocal<ElementQuery> query = new ThreadLocal<>();
+    private final ThreadLocal<MockScope> mockScope = new ThreadLocal<>();
+    private final ThreadLocal<NetworkControl> network = new ThreadLocal<>();
+    private final ThreadLocal<FailureCapture> failureCapture = new ThreadLocal<>();
     protected String appUrl;
 
     @BeforeMethod
     @Parameters({"browser", "app.url"})
-    public void setUp(String browser, String appUrl) {
+    public void setUp(String browser, String appUrl, ITestContext context, Method method) {
         this.appUrl = appUrl;
-        
+        CircuitBreaker.checkClosed();
+
         try {
-            if (browser.equalsIgnoreCase("chrome") || browser.equalsIgnoreCase("brave")) {
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions options = new ChromeOptions();
-                if (browser.equalsIgnoreCase("brave")) {
-                    options.setBinary("C:\\Program Files\\BraveSoftware\\Brave-Browser\\Application\\brave.exe");
+            LaunchProfile profile = LaunchProfile.resolve(browser, context.getCurrentXmlTest().getParameter("launch.profile"));
+
+            // One warm session per worker thread; sequential suites get a pool of one, matrix runs one per browser
+            String sessions = context.getCurrentXmlTest().getParameter(BrowserMatrix.SESSIONS_PARAMETER);
+            XmlSuite suite = context.getSuite().getXmlSuite();
+            int poolSize = suite.getParallel().isParallel() ? suite.getThreadCount() : 1;
+            DriverPool pool = sessions != null
+                    ? DriverPool.forBrowser(browser, Integer.parseInt(sessions)) : DriverPool.get(poolSize);
+            String label = BrowserMatrix.label(method.getDeclaringClass().getSimpleName() + "." + method.getName(), browser);
+            long start = System.nanoTime();
+            WebDriver session = pool.checkout(profile, appUrl);
+            StartupTimings.recordCheckout(label, profile, Duration.ofNanos(System.nanoTime() - start));
+            driver.set(session);
+            driverPool.set(pool);
+            AppIdle.install(session);
+            // Both only take effect from the next page load, so the checked-out page is reloaded once
+            boolean reload = false;
+            if (MockBackend.appliesTo(getClass())) {
+                MockScope scope = MockBackend.get().openScope(Thread.currentThread().getName() + "/" + method.getName());
+                mockScope.set(scope);
+                reload = MockBackend.get().attach(session, scope);
+            }
+            NetworkConditions conditions = method.isAnnotationPresent(NetworkConditions.class)
+                    ? method.getAnnotation(NetworkConditions.class) : getClass().getAnnotation(NetworkConditions.class);
+            if (conditions != null || NetworkControl.hasSuiteSettings()) {
+                NetworkControl control = NetworkControl.of(session).orElse(null);
+                if (control != null) {
+                    network.set(control);
+                    reload |= control.apply(conditions);
                 }
-                options.addArguments("--start-maximized");
-                options.addArguments("--disable-notifications");
-                options.addArguments("--disable-popup-blocking");
-                driver = new ChromeDriver(options);
-            } else if (browser.equalsIgnoreCase("firefox")) {
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions options = new FirefoxOptions();
-                options.addArguments("--start-maximized");
-                driver = new FirefoxDriver(options);
-            } else if (browser.equalsIgnoreCase("edge")) {
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions options = new EdgeOptions();
-                options.addArguments("--start-maximized");
-                driver = new EdgeDriver(options);
-            } else {
-                throw new IllegalArgumentException("Unsupported browser: " + browser);
+            }
+            if (reload) {
+                session.navigate().refresh();
+            }
+            if (PerfRecorder.isEnabled()) {
+                PerfRecorder.start(session, label);
+            }
+            if (FailureCapture.isEnabled()) {
+                failureCapture.set(FailureCapture.start(session));
             }
 
-            // Increase wait time to 20 seconds
-            wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-            
-            // Set implicit wait to 10 seconds
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            
-            // Maximize window
-            driver.manage().window().maximize();
-            
-            // Navigate to the application
-            driver.get(appUrl);
+            wait.set(new WaitEngine(session));
+            query.set(new ElementQuery(session, wait.get()));
         } catch (Exception e) {
             System.err.println("Failed to initialize WebDriver: " + e.getMessage());
             throw e;
         }
     }
 
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        FailureCapture capture = failureCapture.get();
+        failureCapture.remove();
+        if (capture != null && driver.get() != null && result.getStatus() == ITestResult.FAILURE) {
+            // Before anything below resets the page
+            try {
+                capture.capture(driver.get(), StreamingResultListener.nameOf(result),
+                        StreamingResultListener.idOf(result));
+            } catch (Exception e) {
+                System.err.println("Failed to capture failure artifacts: " + e.getMessage());
+            }
+        }
+        try {
+            PerfBaseline.collect(PerfRecorder.finish());
+        } catch (Exception e) {
+            System.err.println("Failed to write perf metrics: " + e.getMessage());
+        }
+        WebDriver session = driver.get();
+        driver.remove();
+        wait.remove();
+        query.remove();
+        NetworkControl control = network.get();
+        network.remove();
+        if (control != null) {
+            try {
+                control.reset();
+            } catch (Exception e) {
+                System.err.println("Failed to reset network conditions: " + e.getMessage());
+            }
+        }
+        MockScope scope = mockScope.get();
+        mockScope.remove();
+        MockBackend backend = MockBackend.current();
+        if (scope != null && backend != null) {
+            backend.closeScope(scope);
+            try {
+                backend.detach(session);
+            } catch (Exception e) {
+                System.err.println("Failed to detach mock backend: " + e.getMessage());
+            }
+        }
+        DriverPool pool = driverPool.get();
+        driverPool.remove();
+        if (session != null && pool != null) {
             try {
-                driver.quit();
+                // A session that just hit a flaky or infrastructure failure is not trusted for the next test
+                if (result.getStatus() == ITestResult.FAILURE && FailureKind.of(result.getThrowable()) != FailureKind.PRODUCT) {
+                    pool.discard(session);
+                } else {
+                    pool.release(session);
+                }
             } catch (Exception e) {
-                System.err.println("Failed to quit WebDriver: " + e.getMessage());
+                System.err.println("Failed to release WebDriver: " + e.getMessage());
             }
         }
     }
 
+    @BeforeSuite(alwaysRun = true)
+    public void prepareReports() {
+        PerfRecorder.resetReports();
+    }
+
+    @BeforeSuite(alwaysRun = true)
+    public void checkEnvironment(ITestContext context) {
+        StartupTimings.recordFirstTest();
+        String url = context.getSuite().getParameter("app.url");
+        // With every class on the mock backend the real API is not needed
+        boolean apiNeeded = context.getSuite().getAllMethods().stream()
+                .anyMatch(method -> !MockBackend.appliesTo(method.getRealClass()));
+        List<String> problems = HealthGate.check(url != null ? url : TestProperties.get("app.url", "http://localhost:3000"),
+                apiNeeded);
+        if (!problems.isEmpty()) {
+            String message = "Environment health check failed:\n  " + String.join("\n  ", problems);
+            CircuitBreaker.open(message);
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void comparePerfBaseline() {
+        if (!PERF_BASELINE_COMPARED.compareAndSet(false, true)) {
+            return;
+        }
+        List<String> regressions = PerfBaseline.compare();
+        if (regressions.isEmpty()) {
+            return;
+        }
+        String message = "Significant slowdowns against the perf baseline:\n  " + String.join("\n  ", regressions);
+        if (TestProperties.get("perf.baseline.mode", "warn").equalsIgnoreCase("fail")) {
+            throw new AssertionError(message);
+        }
+        System.err.println(message);
+    }
+
+    /**
+     * Rolls the database back to the dump/mycare baseline before each &lt;test&gt; block. Test blocks run one after
+     * the other even with parallel="methods", so no test is running while the data is reset.
+     */
+    @BeforeTest(alwaysRun = true)
+    public void restoreDatabase() {
+        if (DatabaseSnapshot.isEnabled() && !BrowserMatrix.isEnabled()) {
+            rollbackDatabase();
+        }
+    }
+
+    /**
+     * Browser matrix runs start their blocks side by side, so a rollback before one block would reset the data
+     * under the others. There it happens once for the suite, before any block starts.
+     */
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "checkEnvironment")
+    public void restoreDatabaseForMatrix() {
+        if (DatabaseSnapshot.isEnabled() && BrowserMatrix.isEnabled() && DATABASE_RESTORED.compareAndSet(false, true)) {
+            rollbackDatabase();
+        }
+    }
+
+    private static void rollbackDatabase() {
+        DatabaseSnapshot.rollback();
+        SessionFactory.clear();
+        TestDataFactory factory = TestDataFactory.current();
+        if (factory != null) {
+            factory.invalidate();
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void cleanUpTestData() {
+        TestDataFactory factory = TestDataFactory.current();
+        if (factory != null) {
+            factory.cleanup();
+        }
+        DatabaseSnapshot.close();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void drainArtifactWriter() {
+        ArtifactWriter.drain(Duration.ofSeconds(TestProperties.getLong("artifacts.drain.seconds", 30)));
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        StartupTimings.report();
+        DriverPool.all().forEach(DriverPool::shutdown);
+    }
+
+    protected WebDriver getDriver() {
+        WebDriver session = driver.get();
+        if (session == null) {
+            throw new IllegalStateException("No browser session checked out for thread " + Thread.currentThread().getName());
+        }
+        return session;
+    }
+
+    protected WaitEngine getWait() {
+        return wait.get();
+    }
+
+    /**
+     * Blocking and throttling for the rest of this test, on top of any {@link NetworkConditions}. Empty for
+     * browsers without CDP.
+     */
+    protected Optional<NetworkControl> network() {
+        if (network.get() == null) {
+            NetworkControl.of(getDriver()).ifPresent(network::set);
+        }
+        return Optional.ofNullable(network.get());
+    }
+
+    /**
+     * Responses this test can program on the mock backend. Only available in classes running against it.
+     */
+    protected MockScope mockBackend() {
+        MockScope scope = mockScope.get();
+        if (scope == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " runs against the real API; annotate it "
+                    + "with @StubbedBackend or set mock.backend.mode=all");
+        }
+        return scope;
+    }
+
+    /**
+     * This worker thread's own user, products, community and bulk order, seeded through the API on first use.
+     */
+    protected Fixture fixture() {
+        if (mockScope.get() != null) {
+            return MockData.fixture();
+        }
+        return TestDataFactory.get(Math.max(1, DriverPool.totalCapacity())).forCurrentThread();
+    }
+
+    /**
+     * Starts the test logged in as an account that can log in with a password, e.g. login.email, by seeding a
+     * session from POST /api/auth/login instead of going through the login modal.
+     */
+    protected void loginViaApi(String email, String password) {
+        if (mockScope.get() != null) {
+            SessionFactory.loginAs(getDriver(), MockData.session());
+            return;
+        }
+        SessionFactory.loginAs(getDriver(), email, password);
+    }
+
+    /**
+     * Starts the test logged in as this thread's fixture user by seeding its session, instead of going through the
+     * login modal.
+     */
+    protected Fixture loginAsFixtureUser() {
+        Fixture fixture = fixture();
+        SessionFactory.loginAs(getDriver(), fixture.session());
+        return fixture;
+    }
+
+    /**
+     * Runs a navigation or interaction and records its timing for the current test.
+     */
+    protected void measure(String label, Runnable action) {
+        PerfRecorder.measure(label, action);
+    }
+
+    /**
+     * Presence, visibility, enabled state and text of the data-testid elements in one round trip, once all of
+     * them are present or the wait timeout has passed.
+     */
+    protected ElementSnapshot awaitElements(String... testIds) {
+        return query.get().awaitPresent(List.of(testIds));
+    }
+
+    /**
+     * Waits until the app has finished its requests, animation frames and re-renders.
+     */
+    protected void awaitAppIdle() {
+        getWait().appIdle();
+    }
+
+    protected boolean isElementPresent(String locator) {
+        return getWait().isPresent(By.cssSelector(locator));
+    }
+
+    protected boolean isElementPresent(String locator, Duration timeout) {
+        return getWait().isPresent(By.cssSelector(locator), timeout);
+    }
+
+    protected boolean isElementAbsent(String locator) {
+        return getWait().isAbsent(By.cssSelector(locator));
+    }
+
+    protected boolean isElementAbsent(String locator, Duration timeout) {
+        return getWait().isAbsent(By.cssSelector(locator), timeout);
+    }
+
     protected void waitForElementVisible(String locator) {
+        waitForElementVisible(locator, getWait().getTimeout());
+    }
+
+    protected void waitForElementVisible(String locator, Duration timeout) {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(org.openqa.selenium.By.cssSelector(locator)));
+            getWait().visible(By.cssSelector(locator), timeout);
         } catch (TimeoutException e) {
             System.err.println("Element not visible after timeout: " + locator);
             throw e;
@@ -96,7 +388,7 @@ public class TestBase {
 
     protected void waitForElementClickable(String locator) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(org.openqa.selenium.By.cssSelector(locator)));
+            getWait().clickable(By.cssSelector(locator));
         } catch (TimeoutException e) {
             System.err.println("Element not clickable after timeout: " + locator);
             throw e;
@@ -109,13 +401,13 @@ public class TestBase {
     protected void clickElement(String locator) {
         try {
             waitForElementClickable(locator);
-            driver.findElement(org.openqa.selenium.By.cssSelector(locator)).click();
+            getDriver().findElement(By.cssSelector(locator)).click();
         } catch (ElementClickInterceptedException e) {
             System.err.println("Element click intercepted: " + locator);
             // Try JavaScript click as fallback
             try {
-                org.openqa.selenium.JavascriptExecutor executor = (org.openqa.selenium.JavascriptExecutor) driver;
-                executor.executeScript("arguments[0].click();", driver.findElement(org.openqa.selenium.By.cssSelector(locator)));
+                org.openqa.selenium.JavascriptExecutor executor = (org.openqa.selenium.JavascriptExecutor) getDriver();
+                executor.executeScript("arguments[0].click();", getDriver().findElement(By.cssSelector(locator)));
             } catch (Exception jsException) {
                 System.err.println("JavaScript click also failed: " + jsException.getMessage());
                 throw jsException;
@@ -128,7 +420,7 @@ public class TestBase {
 
     protected void waitForElementToDisappear(String locator) {
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(org.openqa.selenium.By.cssSelector(locator)));
+            getWait().invisible(By.cssSelector(locator));
         } catch (TimeoutException e) {
             System.err.println("Element did not disappear after timeout: " + locator);
             throw e;
@@ -137,4 +429,4 @@ public class TestBase {
             throw e;
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.mycare.qa.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Read-only view of application-test.properties; JVM system properties (-Dkey=value) take precedence.
+ */
+public final class TestProperties {
+    private static final String RESOURCE = "application-test.properties";
+    private static final Properties FILE = load();
+
+    private TestProperties() {
+    }
+
+    public static String get(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = FILE.getProperty(key);
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * All keys starting with the prefix, with the prefix stripped. System properties override the file.
+     */
+    public static Map<String, String> withPrefix(String prefix) {
+        Map<String, String> result = new TreeMap<>();
+        for (Properties source : new Properties[] {FILE, System.getProperties()}) {
+            for (String key : source.stringPropertyNames()) {
+                String value = source.getProperty(key);
+                if (key.startsWith(prefix) && value != null && !value.isBlank()) {
+                    result.put(key.substring(prefix.length()), value.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Directory that report artifacts are written to, next to the surefire reports by default.
+     */
+    public static Path reportsDir() {
+        Path dir = Paths.get(get("reports.dir", "target/surefire-reports"));
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create reports directory " + dir, e);
+        }
+        return dir;
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = TestProperties.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + RESOURCE, e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,159 @@
+package com.mycare.qa.data;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Restores the dump/mycare baseline into a template database once, then rolls the app's database back to it
+ * between test blocks. A rollback compares per-collection dbHash values and only rewrites the collections that
+ * differ from the template, so an untouched database costs one hash and a typical rollback stays well below a
+ * second. Indexes are copied from the template the first time a collection is created.
+ *
+ * <p>Needs a local mongod plus mongorestore and mongosh on the PATH (or db.mongorestore / db.mongosh), and the
+ * backend's MONGO_URI pointing at db.name. Enabled with db.restore.enabled=true.
+ */
+public final class DatabaseSnapshot {
+    private static final String ROLLBACK_FUNCTION = String.join(" ",
+            "globalThis.qaRollback = function (workName, templateName) {",
+            "  const work = db.getSiblingDB(workName);",
+            "  const template = db.getSiblingDB(templateName);",
+            "  const names = template.getCollectionNames();",
+            "  const workHash = work.runCommand({dbHash: 1}).collections || {};",
+            "  const templateHash = template.runCommand({dbHash: 1}).collections || {};",
+            "  const restored = [];",
+            "  names.forEach(function (name) {",
+            "    if (workHash[name] === templateHash[name]) { return; }",
+            "    const target = work.getCollection(name);",
+            "    if (!(name in workHash)) {",
+            "      template.getCollection(name).getIndexes().forEach(function (index) {",
+            "        if (index.name === '_id_') { return; }",
+            "        const key = index.key; delete index.key; delete index.v; delete index.ns;",
+            "        target.createIndex(key, index);",
+            "      });",
+            "    }",
+            "    target.deleteMany({});",
+            "    const docs = template.getCollection(name).find().toArray();",
+            "    if (docs.length) { target.insertMany(docs, {ordered: false}); }",
+            "    restored.push(name);",
+            "  });",
+            "  Object.keys(workHash).forEach(function (name) {",
+            "    if (names.indexOf(name) < 0 && work.getCollection(name).estimatedDocumentCount() > 0) {",
+            "      work.getCollection(name).deleteMany({});",
+            "      restored.push(name);",
+            "    }",
+            "  });",
+            "  return restored;",
+            "};");
+
+    private static MongoShell shell;
+
+    private DatabaseSnapshot() {
+    }
+
+    public static boolean isEnabled() {
+        return TestProperties.getBoolean("db.restore.enabled", false);
+    }
+
+    /**
+     * Resets the app database to the baseline and returns the collections that had to be rewritten.
+     */
+    public static synchronized List<String> rollback() {
+        long start = System.nanoTime();
+        MongoShell mongo = shell();
+        List<String> output = mongo.eval("print(JSON.stringify(qaRollback(" + quote(databaseName()) + ", "
+                + quote(templateName()) + ")))");
+        List<String> restored = output.isEmpty() ? List.of() : parseNames(output.get(output.size() - 1));
+        System.out.printf("Rolled back %s to the baseline in %d ms (%s)%n", databaseName(),
+                (System.nanoTime() - start) / 1_000_000, restored.isEmpty() ? "unchanged" : String.join(", ", restored));
+        return restored;
+    }
+
+    public static synchronized void close() {
+        if (shell != null) {
+            shell.close();
+            shell = null;
+        }
+    }
+
+    private static MongoShell shell() {
+        if (shell == null) {
+            MongoShell mongo = new MongoShell(TestProperties.get("db.mongosh", "mongosh"), uri());
+            Runtime.getRuntime().addShutdownHook(new Thread(mongo::close));
+            boolean hasTemplate = !mongo.eval("print(db.getSiblingDB(" + quote(templateName())
+                    + ").getCollectionNames().length)").contains("0");
+            if (!hasTemplate || TestProperties.getBoolean("db.template.refresh", false)) {
+                restoreTemplate();
+            }
+            mongo.eval(ROLLBACK_FUNCTION);
+            shell = mongo;
+        }
+        return shell;
+    }
+
+    private static void restoreTemplate() {
+        Path dump = Paths.get(TestProperties.get("db.dump.dir", "../dump"));
+        String source = TestProperties.get("db.dump.name", "mycare");
+        if (Files.notExists(dump.resolve(source))) {
+            throw new IllegalStateException("No database dump at " + dump.resolve(source).toAbsolutePath());
+        }
+        long start = System.nanoTime();
+        try {
+            Process process = new ProcessBuilder(TestProperties.get("db.mongorestore", "mongorestore"),
+                    "--uri=" + uri(), "--drop", "--quiet",
+                    "--nsInclude=" + source + ".*",
+                    "--nsFrom=" + source + ".*",
+                    "--nsTo=" + templateName() + ".*",
+                    dump.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("mongorestore failed: " + output);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to run mongorestore", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during mongorestore", e);
+        }
+        System.out.printf("Restored %s into template database %s in %d ms%n", dump.resolve(source), templateName(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String uri() {
+        return TestProperties.get("db.uri", "mongodb://localhost:27017");
+    }
+
+    private static String databaseName() {
+        return TestProperties.get("db.name", "mycare");
+    }
+
+    private static String templateName() {
+        return TestProperties.get("db.template", "mycare_qa_template");
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static List<String> parseNames(String json) {
+        String body = json.trim();
+        if (!body.startsWith("[")) {
+            throw new IllegalStateException("Unexpected rollback output: " + json);
+        }
+        body = body.substring(1, body.length() - 1).trim();
+        if (body.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(body.split(","))
+                .map(name -> name.trim().replace("\"", ""))
+                .toList();
+    }
+}
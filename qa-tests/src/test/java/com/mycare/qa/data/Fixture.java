@@ -0,0 +1,23 @@
+package com.mycare.qa.data;
+
+import com.mycare.qa.api.SessionFactory;
+
+import java.util.List;
+
+/**
+ * Data owned by one worker thread for the duration of the suite: a user with a complete profile, the products it
+ * manufactures, a public community it created and an open bulk order in that community. The community id doubles
+ * as the slug for /communities/:slug. There is no password: the account cannot log in with one, so callers sign in
+ * with the session issued at registration.
+ */
+public record Fixture(String email, SessionFactory.Session session, List<String> productIds,
+                      String communityId, String bulkOrderId) {
+
+    public String token() {
+        return session.token();
+    }
+
+    public String userId() {
+        return session.userId();
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycare.qa.data;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One long-lived mongosh process fed statements over stdin, so each call costs a local round trip instead of
+ * a shell start-up. Statements must fit on one line; everything they print is returned. A statement that throws
+ * or does not parse fails the call, and a shell that has not answered within db.mongosh.timeout.seconds is killed.
+ */
+public final class MongoShell implements AutoCloseable {
+    private static final String DONE = "__qa_shell_done__";
+    private static final String ERROR = "__qa_shell_error__";
+    // Queued by the reader thread when mongosh closes its output; compared by identity
+    private static final String EXITED = new String("exited");
+
+    private final Process process;
+    private final Writer in;
+    private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+    private final Duration timeout;
+
+    public MongoShell(String executable, String uri) {
+        try {
+            process = new ProcessBuilder(executable, uri, "--quiet", "--norc")
+                    .redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start " + executable, e);
+        }
+        timeout = Duration.ofSeconds(TestProperties.getLong("db.mongosh.timeout.seconds", 300));
+        in = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        // Lines are read on their own thread so eval() can stop waiting at its deadline
+        Thread.ofPlatform().daemon().name("mongosh-output").start(() -> {
+            try {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    output.add(line);
+                }
+            } catch (IOException e) {
+                // the process is gone; eval() reports it
+            } finally {
+                output.add(EXITED);
+            }
+        });
+    }
+
+    public synchronized List<String> eval(String statement) {
+        if (statement.contains("\n")) {
+            throw new IllegalArgumentException("Shell statements must be a single line");
+        }
+        if (!process.isAlive()) {
+            throw new IllegalStateException("mongosh is no longer running");
+        }
+        try {
+            in.write("try { " + statement + " } catch (e) { print('" + ERROR + " ' + String(e)"
+                    + ".split('\\n').join(' | ')); }\nprint('" + DONE + "')\n");
+            in.flush();
+            List<String> lines = new ArrayList<>();
+            String error = null;
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                String line = output.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (line == null) {
+                    close();
+                    throw new IllegalStateException("mongosh did not answer within " + timeout.toSeconds()
+                            + " s, killed it; statement: " + abbreviate(statement));
+                }
+                if (line == EXITED) {
+                    throw new IllegalStateException("mongosh exited with " + process.waitFor() + ": "
+                            + String.join("\n", lines));
+                }
+                if (line.contains(DONE)) {
+                    if (error != null) {
+                        throw new IllegalStateException("mongosh statement failed: " + error + "; statement: "
+                                + abbreviate(statement));
+                    }
+                    return lines;
+                }
+                if (line.contains(ERROR)) {
+                    error = line.substring(line.indexOf(ERROR) + ERROR.length()).trim();
+                } else if (error == null && (line.startsWith("Uncaught") || line.startsWith("SyntaxError"))) {
+                    // Parse errors are reported by the shell itself, outside the try block
+                    error = line;
+                } else if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to talk to mongosh", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for mongosh", e);
+        }
+    }
+
+    private static String abbreviate(String statement) {
+        return statement.length() <= 120 ? statement : statement.substring(0, 117) + "...";
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // process is going away anyway
+        }
+        process.destroy();
+    }
+}
@@ -0,0 +1,181 @@
+package com.mycare.qa.data;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic catalogue written straight into the app's database for data-scale benchmarks: products, communities
+ * and community orders, generated inside mongosh in batches so a million documents never cross the process
+ * boundary. Everything it creates carries a QA-SCALE / qa-scale marker and is removed again by {@link #remove()}.
+ *
+ * <p>Products get deterministic ObjectIds so orders and communities can reference them without lookups. Orders are
+ * spread over a fixed set of communities, so GET /api/orders/community/:communityId returns a slice of the
+ * collection and a missing index shows up as documents examined far above documents returned.
+ */
+public final class ScaleDataset implements AutoCloseable {
+    private static final Json JSON = new Json();
+    private static final String MANUFACTURER_EMAIL = "qa-scale-manufacturer@example.com";
+
+    private static final String FUNCTIONS = String.join(" ",
+            "globalThis.qaScaleProductId = function (i) {",
+            "  return ObjectId('a5ca1e000000' + i.toString(16).padStart(12, '0'));",
+            "};",
+            "globalThis.qaScaleSetup = function (dbName, orderCommunities) {",
+            "  const d = db.getSiblingDB(dbName);",
+            "  const now = new Date();",
+            "  d.users.updateOne({email: '" + MANUFACTURER_EMAIL + "'}, {$setOnInsert: {name: 'QA Scale Manufacturer',",
+            "    password: 'not-a-bcrypt-hash-no-login', country: 'India', walletBalance: 0, createdAt: now}},",
+            "    {upsert: true});",
+            "  const user = d.users.findOne({email: '" + MANUFACTURER_EMAIL + "'}, {_id: 1});",
+            "  for (let c = 0; c < orderCommunities; c++) {",
+            "    d.communities.updateOne({communityId: 'qa-scale-orders-' + c}, {$setOnInsert: {",
+            "      name: 'QA Scale Orders ' + c, description: 'Community holding synthetic scale orders',",
+            "      healthConditions: ['Diabetes'], relatedMedications: [], locations: ['Bangalore'],",
+            "      privacy: 'public', creator: user._id, members: [user._id], createdAt: now, updatedAt: now}},",
+            "      {upsert: true});",
+            "  }",
+            "  return d.communities.findOne({communityId: 'qa-scale-orders-0'}, {_id: 1})._id.toString();",
+            "};",
+            "globalThis.qaScaleGrow = function (dbName, kind, from, to, products, orderCommunities) {",
+            "  const d = db.getSiblingDB(dbName);",
+            "  const user = d.users.findOne({email: '" + MANUFACTURER_EMAIL + "'}, {_id: 1})._id;",
+            "  const communities = d.communities.find({communityId: /^qa-scale-orders-/}).sort({communityId: 1})",
+            "    .toArray().map(function (c) { return c._id; });",
+            "  const categories = ['Diabetes', 'Cardiac', 'Respiratory', 'Pain Relief', 'Vitamins', 'Dermatology',",
+            "    'Antibiotics', 'Oncology'];",
+            "  const now = new Date();",
+            "  const collection = d.getCollection(kind);",
+            "  let batch = [];",
+            "  let inserted = 0;",
+            "  const flush = function () {",
+            "    inserted += Object.keys(collection.insertMany(batch, {ordered: false}).insertedIds).length;",
+            "    batch = [];",
+            "  };",
+            "  for (let i = from; i < to; i++) {",
+            "    if (kind === 'products') {",
+            "      batch.push({_id: qaScaleProductId(i), productId: 'QA-SCALE-P-' + i, name: 'Scale product ' + i,",
+            "        description: 'Synthetic product ' + i + ' generated for data-scale benchmarks of list endpoints.',",
+            "        manufacturer: user, regularPrice: 10 + i % 90, bulkPrice: 8 + i % 70, minOrderQuantity: 10,",
+            "        category: categories[i % categories.length], imageUrl: '', createdAt: now, __v: 0});",
+            "    } else if (kind === 'orders') {",
+            "      const product = qaScaleProductId(i % products);",
+            "      batch.push({orderId: 'QA-SCALE-O-' + i, user: user, type: 'bulk',",
+            "        community: communities[i % communities.length],",
+            "        items: [{_id: new ObjectId(), product: product, quantity: 1 + i % 20, price: 12, pricingTier: 'bulk'}],",
+            "        status: 'pending', paymentMethod: 'cod', total: 12 * (1 + i % 20), createdAt: now, __v: 0});",
+            "    } else {",
+            "      batch.push({communityId: 'qa-scale-c-' + i, name: 'Scale community ' + i,",
+            "        description: 'Synthetic community ' + i + ' generated for data-scale benchmarks.',",
+            "        healthConditions: [categories[i % categories.length]],",
+            "        relatedMedications: [qaScaleProductId(i % products), qaScaleProductId((i * 7 + 1) % products)],",
+            "        locations: ['Bangalore'], privacy: 'public', creator: user, members: [user],",
+            "        createdAt: now, updatedAt: now, __v: 0});",
+            "    }",
+            "    if (batch.length === 5000) { flush(); }",
+            "  }",
+            "  if (batch.length) { flush(); }",
+            "  return inserted;",
+            "};");
+
+    private final MongoShell shell;
+    private final String database;
+    private final int orderCommunities;
+    private final String orderCommunityId;
+    private long products;
+    private long orders;
+    private long communities;
+
+    public ScaleDataset() {
+        database = TestProperties.get("db.name", "mycare");
+        orderCommunities = TestProperties.getInt("scale.order.communities", 10);
+        shell = new MongoShell(TestProperties.get("db.mongosh", "mongosh"),
+                TestProperties.get("db.uri", "mongodb://localhost:27017"));
+        Runtime.getRuntime().addShutdownHook(new Thread(shell::close));
+        shell.eval(FUNCTIONS);
+        remove();
+        orderCommunityId = last(shell.eval("print(qaScaleSetup(" + quote(database) + ", " + orderCommunities + "))"));
+    }
+
+    /**
+     * Id of the community whose orders the benchmark requests; it holds 1/scale.order.communities of the orders.
+     */
+    public String orderCommunityId() {
+        return orderCommunityId;
+    }
+
+    /**
+     * Adds documents until there are size products and orders and size * scale.communities.ratio communities.
+     */
+    public void growTo(long size) {
+        long start = System.nanoTime();
+        long targetCommunities = Math.max(1, Math.round(size * Double.parseDouble(
+                TestProperties.get("scale.communities.ratio", "0.01"))));
+        products = grow("products", products, size, size);
+        orders = grow("orders", orders, size, size);
+        communities = grow("communities", communities, targetCommunities, size);
+        System.out.printf("Grew scale dataset to %d products, %d orders, %d communities in %d ms%n",
+                products, orders, communities, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long grow(String kind, long current, long target, long productCount) {
+        if (target > current) {
+            long inserted = Long.parseLong(last(shell.eval("print(qaScaleGrow(" + quote(database) + ", " + quote(kind)
+                    + ", " + current + ", " + target + ", " + productCount + ", " + orderCommunities + "))")));
+            // A short count means the dataset no longer has the size the benchmark reports for it
+            if (inserted != target - current) {
+                throw new IllegalStateException("Inserted " + inserted + " " + kind + " instead of "
+                        + (target - current) + " growing from " + current + " to " + target);
+            }
+            return target;
+        }
+        return current;
+    }
+
+    /**
+     * Winning plan stage and documents examined versus returned for the community orders query.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> explainCommunityOrders() {
+        String output = last(shell.eval("(function () { const plan = db.getSiblingDB(" + quote(database)
+                + ").orders.find({community: ObjectId(" + quote(orderCommunityId)
+                + "), status: {$in: ['pending', 'confirmed']}}).explain('executionStats');"
+                + " const winning = plan.queryPlanner.winningPlan;"
+                + " print(JSON.stringify({stage: winning.inputStage ? winning.inputStage.stage : winning.stage,"
+                + " docsExamined: plan.executionStats.totalDocsExamined,"
+                + " returned: plan.executionStats.nReturned})); })()"));
+        return JSON.toType(output, Map.class);
+    }
+
+    /**
+     * Deletes every generated document, including ones left behind by an interrupted run.
+     */
+    public void remove() {
+        shell.eval("(function () { const d = db.getSiblingDB(" + quote(database) + ");"
+                + " d.products.deleteMany({productId: /^QA-SCALE-/});"
+                + " d.orders.deleteMany({orderId: /^QA-SCALE-/});"
+                + " d.communities.deleteMany({communityId: /^qa-scale-/});"
+                + " d.users.deleteMany({email: '" + MANUFACTURER_EMAIL + "'}); })()");
+        products = 0;
+        orders = 0;
+        communities = 0;
+    }
+
+    @Override
+    public void close() {
+        shell.close();
+    }
+
+    private static String last(List<String> output) {
+        if (output.isEmpty()) {
+            throw new IllegalStateException("mongosh returned no output");
+        }
+        return output.get(output.size() - 1).trim();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
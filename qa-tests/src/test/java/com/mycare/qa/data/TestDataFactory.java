@@ -0,0 +1,263 @@
+package com.mycare.qa.data;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.api.SessionFactory;
+import com.mycare.qa.config.TestProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds one {@link Fixture} per worker thread through the API, in parallel and only when the first test asks
+ * for one, and removes everything in one batch at the end of the suite. Each thread keeps its fixture for the
+ * whole run, so parallel tests never share a wallet, order or membership.
+ *
+ * <p>Users are signed in with the token returned by /auth/register rather than through /auth/login: register
+ * hashes the password before the User model's pre-save hook hashes it again, so the new accounts cannot log in
+ * with their password, and {@link Fixture} does not carry it. Deleting an account through /auth/delete-account
+ * removes its products, communities, orders and bulk orders with it.
+ */
+public final class TestDataFactory {
+    private static volatile TestDataFactory instance;
+
+    private final ApiClient api = new ApiClient();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final int workers;
+    private final ConcurrentLinkedQueue<Fixture> free = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Fixture> created = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Assignment> assigned = new ThreadLocal<>();
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile boolean seeded;
+
+    private TestDataFactory(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * The factory shared by the suite, sized for the given number of worker threads on first use.
+     */
+    public static TestDataFactory get(int workers) {
+        TestDataFactory factory = instance;
+        if (factory == null) {
+            synchronized (TestDataFactory.class) {
+                factory = instance;
+                if (factory == null) {
+                    factory = new TestDataFactory(workers);
+                    instance = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    public static TestDataFactory current() {
+        return instance;
+    }
+
+    /**
+     * This thread's fixture. The first call seeds fixtures for all workers at once.
+     */
+    public Fixture forCurrentThread() {
+        Assignment assignment = assigned.get();
+        if (assignment == null || assignment.generation() != generation.get()) {
+            int current = generation.get();
+            seedIfNeeded();
+            Fixture fixture = free.poll();
+            if (fixture == null) {
+                // More threads than expected, e.g. a retry on a new worker
+                fixture = create();
+            }
+            assignment = new Assignment(fixture, current);
+            assigned.set(assignment);
+        }
+        return assignment.fixture();
+    }
+
+    /**
+     * Creates count more fixtures at once, for tests that need many distinct users rather than one per thread.
+     * They are removed by {@link #cleanup()} with the rest.
+     */
+    public List<Fixture> createFixtures(int count) {
+        long start = System.nanoTime();
+        List<Fixture> fixtures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Fixture>> pending = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                pending.add(executor.submit(this::create));
+            }
+            for (Future<Fixture> fixture : pending) {
+                fixtures.add(fixture.get());
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to create test fixtures: " + e.getMessage());
+            throw new IllegalStateException("Failed to create test fixtures", e);
+        }
+        System.out.printf("Created %d test fixtures in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+        return fixtures;
+    }
+
+    /**
+     * Opens another bulk order in the fixture's community for its first product and returns its id, e.g. one with a
+     * target that load runs cannot reach so joins keep succeeding. Deleted with the owner's account.
+     */
+    public String createBulkOrder(Fixture owner, int targetQuantity) {
+        Map<String, Object> bulkOrder = call(api.post("/bulk-orders", Map.of(
+                "productId", owner.productIds().get(0),
+                "targetQuantity", targetQuantity,
+                "initialQuantity", 1,
+                "community", owner.communityId()), owner.token()), "create bulk order for " + owner.email());
+        return id(bulkOrder.get("bulkOrder"));
+    }
+
+    /**
+     * Forgets all fixtures without deleting them, for when the database has been rolled back underneath them.
+     * The next request seeds a fresh set.
+     */
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        created.clear();
+        free.clear();
+        seeded = false;
+    }
+
+    /**
+     * Deletes every seeded account and the data it owns.
+     */
+    public void cleanup() {
+        List<Fixture> all = new ArrayList<>(created);
+        created.clear();
+        free.clear();
+        if (all.isEmpty() || !TestProperties.getBoolean("data.cleanup", true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        int failed = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ApiClient.Response>> deletions = new ArrayList<>();
+            for (Fixture fixture : all) {
+                deletions.add(executor.submit(() -> api.delete("/auth/delete-account", fixture.token())));
+            }
+            for (int i = 0; i < deletions.size(); i++) {
+                try {
+                    ApiClient.Response response = deletions.get(i).get();
+                    if (!response.isSuccess()) {
+                        failed++;
+                        System.err.println("Failed to delete test user " + all.get(i).email() + " (HTTP "
+                                + response.status() + "): " + response.body());
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    System.err.println("Failed to delete test user " + all.get(i).email() + ": " + e.getMessage());
+                }
+            }
+        }
+        System.out.printf("Removed %d of %d seeded test users in %d ms%n", all.size() - failed, all.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void seedIfNeeded() {
+        if (seeded) {
+            return;
+        }
+        seeded = true;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Fixture>> fixtures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                fixtures.add(executor.submit(this::create));
+            }
+            for (Future<Fixture> fixture : fixtures) {
+                free.add(fixture.get());
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to seed test data: " + e.getMessage());
+            throw new IllegalStateException("Failed to seed test data", e);
+        }
+        System.out.printf("Seeded %d test fixtures in %d ms%n", workers, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Fixture create() {
+        int n = sequence.incrementAndGet();
+        String email = "qa." + runId + ".w" + n + "@example.com";
+        String password = TestProperties.get("data.password", "QaFixture123!");
+
+        Map<String, Object> registered = call(api.post("/auth/register",
+                Map.of("name", "QA Worker " + n, "email", email, "password", password, "country", "India"), null),
+                "register " + email);
+        String token = (String) registered.get("token");
+
+        // Bulk orders require address, phone and pincode on the profile
+        String phone = "9" + String.format("%09d", Math.floorMod(runId.hashCode() * 31L + n, 1_000_000_000L));
+        Map<String, Object> profile = call(api.put("/auth/profile",
+                Map.of("phone", phone, "address", n + " Test Street", "pincode", "560001"), token),
+                "update profile of " + email);
+        Map<String, Object> user = (Map<String, Object>) profile.get("user");
+        SessionFactory.Session session = new SessionFactory.Session(token, ApiClient.toJson(user), user);
+
+        List<String> productIds = new ArrayList<>();
+        int products = TestProperties.getInt("data.products.per.worker", 2);
+        for (int i = 1; i <= products; i++) {
+            Map<String, Object> product = call(api.post("/products", Map.of(
+                    "name", "QA Product " + runId + " " + n + "-" + i,
+                    "description", "Seeded by the qa-tests data factory",
+                    "regularPrice", 100,
+                    "bulkPrice", 80,
+                    "minOrderQuantity", 10,
+                    "category", "Test"), token), "create product for " + email);
+            productIds.add(id(product.get("product")));
+        }
+
+        Map<String, Object> community = call(api.post("/communities", Map.of(
+                "name", "QA Community " + runId + " " + n,
+                "description", "Seeded by the qa-tests data factory",
+                "healthConditions", List.of("Diabetes"),
+                "relatedMedications", productIds,
+                "locations", List.of("Bangalore"),
+                "privacy", "public"), token), "create community for " + email);
+        String communityId = id(community.get("community"));
+
+        String bulkOrderId = null;
+        if (!productIds.isEmpty()) {
+            Map<String, Object> bulkOrder = call(api.post("/bulk-orders", Map.of(
+                    "productId", productIds.get(0),
+                    "targetQuantity", 50,
+                    "initialQuantity", 1,
+                    "community", communityId), token), "create bulk order for " + email);
+            bulkOrderId = id(bulkOrder.get("bulkOrder"));
+        }
+
+        Fixture fixture = new Fixture(email, session, List.copyOf(productIds), communityId, bulkOrderId);
+        created.add(fixture);
+        return fixture;
+    }
+
+    private record Assignment(Fixture fixture, int generation) {
+    }
+
+    private static Map<String, Object> call(ApiClient.Response response, String what) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Failed to " + what + " (HTTP " + response.status() + "): "
+                    + response.body());
+        }
+        return response.json();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String id(Object document) {
+        Object id = document instanceof Map ? ((Map<String, Object>) document).get("_id") : null;
+        if (id == null) {
+            throw new IllegalStateException("API response has no _id: " + document);
+        }
+        return id.toString();
+    }
+}
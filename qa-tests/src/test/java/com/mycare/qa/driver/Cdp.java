@@ -0,0 +1,66 @@
+package com.mycare.qa.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Chrome DevTools Protocol access for Chromium sessions using raw method names, so it does not depend on
+ * one of the versioned selenium-devtools packages matching the installed browser.
+ */
+public final class Cdp {
+
+    private Cdp() {
+    }
+
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof ChromiumDriver;
+    }
+
+    /**
+     * Returns a connected DevTools session, or empty for browsers without CDP or if connecting fails.
+     */
+    public static Optional<DevTools> devTools(WebDriver driver) {
+        if (!isSupported(driver)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            devTools.ifPresent(DevTools::createSessionIfThereIsNotOne);
+            return devTools;
+        } catch (RuntimeException e) {
+            System.err.println("DevTools session unavailable: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<>(method, params, input -> input.read(Json.MAP_TYPE)));
+    }
+
+    public static void on(DevTools devTools, String event, Consumer<Map<String, Object>> listener) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), listener);
+    }
+
+    /**
+     * Drops listeners registered by the previous test so a pooled session starts clean.
+     */
+    public static void reset(WebDriver driver) {
+        if (!isSupported(driver)) {
+            return;
+        }
+        try {
+            ((HasDevTools) driver).maybeGetDevTools().ifPresent(DevTools::clearListeners);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to reset DevTools listeners: " + e.getMessage());
+        }
+    }
+}
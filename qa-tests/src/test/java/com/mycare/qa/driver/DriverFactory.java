@@ -0,0 +1,78 @@
+package com.mycare.qa.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class DriverFactory {
+    // WebDriverManager resolution hits the network and the local cache, so do it once per driver type per JVM
+    private static final Map<String, Boolean> RESOLVED_BINARIES = new ConcurrentHashMap<>();
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver create(LaunchProfile profile) {
+        WebDriver driver;
+        String browser = profile.getBrowser();
+        if (browser.equals("chrome") || browser.equals("brave")) {
+            resolveBinary("chrome", () -> WebDriverManager.chromedriver().setup());
+            ChromeOptions options = new ChromeOptions();
+            if (profile.getBinary() != null) {
+                options.setBinary(profile.getBinary());
+            }
+            options.setPageLoadStrategy(profile.getPageLoadStrategy());
+            options.addArguments(profile.chromiumArgs());
+            driver = new ChromeDriver(options);
+        } else if (browser.equals("firefox")) {
+            resolveBinary("firefox", () -> WebDriverManager.firefoxdriver().setup());
+            FirefoxOptions options = new FirefoxOptions();
+            if (profile.getBinary() != null) {
+                options.setBinary(profile.getBinary());
+            }
+            options.setPageLoadStrategy(profile.getPageLoadStrategy());
+            options.addArguments(profile.firefoxArgs());
+            if (!profile.isGpuEnabled()) {
+                options.addPreference("layers.acceleration.disabled", true);
+            }
+            driver = new FirefoxDriver(options);
+        } else if (browser.equals("edge")) {
+            resolveBinary("edge", () -> WebDriverManager.edgedriver().setup());
+            EdgeOptions options = new EdgeOptions();
+            if (profile.getBinary() != null) {
+                options.setBinary(profile.getBinary());
+            }
+            options.setPageLoadStrategy(profile.getPageLoadStrategy());
+            options.addArguments(profile.chromiumArgs());
+            driver = new EdgeDriver(options);
+        } else {
+            throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+
+        // Session-wide settings are applied once here, not on every checkout.
+        // No implicit wait: all waiting goes through WaitEngine so negative lookups return immediately
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        if (!profile.isHeadless()) {
+            // Fixed viewport instead of maximize() so layouts are the same on every machine
+            driver.manage().window().setSize(new Dimension(profile.getWindowWidth(), profile.getWindowHeight()));
+        }
+        StartupTimings.recordLaunch();
+        return driver;
+    }
+
+    private static void resolveBinary(String driverType, Runnable setup) {
+        RESOLVED_BINARIES.computeIfAbsent(driverType, type -> {
+            setup.run();
+            return Boolean.TRUE;
+        });
+    }
+}
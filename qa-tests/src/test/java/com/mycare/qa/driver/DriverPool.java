@@ -0,0 +1,225 @@
+package com.mycare.qa.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded pool of warm browser sessions shared by all test threads.
+ * A session is checked out by one thread at a time and reset before it is handed to the next one.
+ */
+public final class DriverPool {
+    private static volatile DriverPool instance;
+    private static final Map<String, DriverPool> BY_BROWSER = new ConcurrentHashMap<>();
+
+    private final int capacity;
+    private final Semaphore permits;
+    private final Map<String, Deque<WebDriver>> idle = new ConcurrentHashMap<>();
+    private final Map<WebDriver, String> sessions = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private DriverPool(int capacity) {
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Returns the suite-wide pool, creating it with the given capacity on first use.
+     */
+    public static DriverPool get(int capacity) {
+        DriverPool pool = instance;
+        if (pool == null) {
+            synchronized (DriverPool.class) {
+                pool = instance;
+                if (pool == null) {
+                    pool = new DriverPool(Math.max(1, capacity));
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the pool for one browser type, creating it with the given capacity on first use. Matrix runs give
+     * every browser its own pool so one slow browser cannot take sessions from the others.
+     */
+    public static DriverPool forBrowser(String browser, int capacity) {
+        return BY_BROWSER.computeIfAbsent(browser, key -> new DriverPool(Math.max(1, capacity)));
+    }
+
+    /**
+     * The suite-wide pool and every per-browser pool created so far.
+     */
+    public static List<DriverPool> all() {
+        List<DriverPool> pools = new ArrayList<>(BY_BROWSER.values());
+        if (instance != null) {
+            pools.add(instance);
+        }
+        return pools;
+    }
+
+    /**
+     * Sessions all pools together may hold, or 0 before any pool exists.
+     */
+    public static int totalCapacity() {
+        return all().stream().mapToInt(DriverPool::getCapacity).sum();
+    }
+
+    /**
+     * Creates a standalone pool, independent of the suite-wide one, e.g. for load runs.
+     */
+    public static DriverPool create(int capacity) {
+        return new DriverPool(Math.max(1, capacity));
+    }
+
+    /**
+     * Returns the pool if one has been created, otherwise null.
+     */
+    public static DriverPool current() {
+        return instance;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WebDriver checkout(LaunchProfile profile, String appUrl) {
+        if (closed) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        String key = profile.key();
+        try {
+            WebDriver driver = idleQueue(key).pollFirst();
+            if (driver != null) {
+                try {
+                    driver.get(appUrl);
+                    return driver;
+                } catch (WebDriverException e) {
+                    // Warm session died while idle, replace it with a fresh one
+                    System.err.println("Discarding dead browser session: " + e.getMessage());
+                    quit(driver);
+                }
+            }
+
+            driver = createSession(profile);
+            driver.get(appUrl);
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            String key = sessions.get(driver);
+            if (closed || key == null) {
+                quit(driver);
+                return;
+            }
+            try {
+                reset(driver);
+                idleQueue(key).offerFirst(driver);
+            } catch (WebDriverException e) {
+                System.err.println("Failed to reset browser session, discarding it: " + e.getMessage());
+                quit(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns a checked-out session without putting it back into rotation, e.g. after an infrastructure failure.
+     */
+    public void discard(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            quit(driver);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<WebDriver> all = new ArrayList<>(sessions.keySet());
+        for (WebDriver driver : all) {
+            quit(driver);
+        }
+        idle.clear();
+    }
+
+    private WebDriver createSession(LaunchProfile profile) {
+        // Keep the number of live browsers within capacity by retiring idle sessions of other profiles
+        while (sessions.size() >= capacity && evictIdle()) {
+            // keep evicting
+        }
+        WebDriver driver = DriverFactory.create(profile);
+        sessions.put(driver, profile.key());
+        return driver;
+    }
+
+    private boolean evictIdle() {
+        for (Deque<WebDriver> queue : idle.values()) {
+            WebDriver victim = queue.pollLast();
+            if (victim != null) {
+                quit(victim);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reset(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() > 1) {
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(handles.get(0));
+        }
+        Cdp.reset(driver);
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    private Deque<WebDriver> idleQueue(String key) {
+        return idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    private void quit(WebDriver driver) {
+        sessions.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Failed to quit WebDriver: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycare.qa.driver;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Browser startup settings for one named profile, read from "launch.&lt;profile&gt;.*" keys in
+ * application-test.properties.
+ */
+public final class LaunchProfile {
+    public static final String DEFAULT_PROFILE = "local";
+
+    private final String name;
+    private final String browser;
+    private final boolean headless;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean extensions;
+    private final boolean gpu;
+    private final List<String> extraArgs;
+    private final String binary;
+
+    private LaunchProfile(String name, String browser) {
+        String prefix = "launch." + name + ".";
+        this.name = name;
+        this.browser = browser.toLowerCase();
+        this.headless = TestProperties.getBoolean(prefix + "headless", false);
+        String[] size = TestProperties.get(prefix + "window.size", "1920x1080").toLowerCase().split("x");
+        this.windowWidth = Integer.parseInt(size[0].trim());
+        this.windowHeight = Integer.parseInt(size[1].trim());
+        this.pageLoadStrategy = PageLoadStrategy.fromString(TestProperties.get(prefix + "page.load.strategy", "normal"));
+        this.extensions = TestProperties.getBoolean(prefix + "extensions", false);
+        this.gpu = TestProperties.getBoolean(prefix + "gpu", false);
+        String args = TestProperties.get(prefix + "args");
+        this.extraArgs = args == null
+                ? Collections.emptyList()
+                : Arrays.stream(args.split(",")).map(String::trim).filter(arg -> !arg.isEmpty()).toList();
+        this.binary = TestProperties.get("browser.binary." + this.browser, defaultBinary(this.browser));
+    }
+
+    /**
+     * Resolves the profile for a browser. The name comes from -Dlaunch.profile, then the suite
+     * parameter, then the launch.profile property.
+     */
+    public static LaunchProfile resolve(String browser, String suiteProfile) {
+        String name = System.getProperty("launch.profile");
+        if (name == null || name.isBlank()) {
+            name = suiteProfile;
+        }
+        if (name == null || name.isBlank()) {
+            name = TestProperties.get("launch.profile", DEFAULT_PROFILE);
+        }
+        return new LaunchProfile(name.trim(), browser);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getWindowWidth() {
+        return windowWidth;
+    }
+
+    public int getWindowHeight() {
+        return windowHeight;
+    }
+
+    public PageLoadStrategy getPageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    public String getBinary() {
+        return binary;
+    }
+
+    /**
+     * Command-line switches shared by the Chromium based browsers.
+     */
+    public List<String> chromiumArgs() {
+        List<String> args = new ArrayList<>();
+        if (headless) {
+            args.add("--headless=new");
+        }
+        args.add("--window-size=" + windowWidth + "," + windowHeight);
+        args.add("--disable-notifications");
+        args.add("--disable-popup-blocking");
+        if (!extensions) {
+            args.add("--disable-extensions");
+        }
+        if (!gpu) {
+            args.add("--disable-gpu");
+        }
+        args.addAll(extraArgs);
+        return args;
+    }
+
+    public List<String> firefoxArgs() {
+        List<String> args = new ArrayList<>();
+        if (headless) {
+            args.add("-headless");
+        }
+        args.add("--width=" + windowWidth);
+        args.add("--height=" + windowHeight);
+        args.addAll(extraArgs);
+        return args;
+    }
+
+    public boolean isGpuEnabled() {
+        return gpu;
+    }
+
+    /**
+     * Pool key; sessions are only reused between tests asking for the same browser and profile.
+     */
+    public String key() {
+        return browser + ":" + name;
+    }
+
+    @Override
+    public String toString() {
+        return key() + (headless ? " (headless)" : "") + " " + windowWidth + "x" + windowHeight
+                + " pageLoad=" + pageLoadStrategy;
+    }
+
+    private static String defaultBinary(String browser) {
+        // Brave is only auto-located on the Windows machines it was originally set up on
+        if (browser.equals("brave") && System.getProperty("os.name", "").startsWith("Windows")) {
+            return "C:\\Program Files\\BraveSoftware\\Brave-Browser\\Application\\brave.exe";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mycare.qa.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Network and CPU conditions for a test class or method; a method annotation replaces the class one. Settings
+ * left at their defaults fall back to the network.* properties. Needs a Chromium session; other browsers run
+ * unthrottled and unblocked.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface NetworkConditions {
+
+    /**
+     * CDP resource types to fail before they are requested, e.g. Image, Font, Media, Stylesheet.
+     */
+    String[] blockTypes() default {};
+
+    /**
+     * URL patterns to block, with * as wildcard, e.g. *googletagmanager.com*.
+     */
+    String[] blockUrls() default {};
+
+    /**
+     * A {@link NetworkPreset} name such as SLOW_3G; empty keeps the property or no throttling.
+     */
+    String network() default "";
+
+    /**
+     * CPU slowdown factor, e.g. 4 for a low-end phone; 0 keeps the property or no slowdown.
+     */
+    double cpuSlowdown() default 0;
+}
@@ -0,0 +1,155 @@
+package com.mycare.qa.driver;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Blocks resource types and URL patterns and applies network and CPU throttling to a Chromium session through
+ * CDP. Resource types go through Fetch interception, which fails matching requests before they leave the
+ * browser; URL patterns use Network.setBlockedURLs. {@link #reset} puts a pooled session back to normal.
+ */
+public final class NetworkControl {
+    // Fetch.requestPaused handlers must not block the DevTools event thread with their own commands
+    private static final ExecutorService RESPONDER = Executors.newVirtualThreadPerTaskExecutor();
+    private static final List<String> RESOURCE_TYPES = List.of("Document", "Stylesheet", "Image", "Media", "Font",
+            "Script", "TextTrack", "XHR", "Fetch", "Prefetch", "EventSource", "WebSocket", "Manifest", "Ping", "Other");
+
+    private final WebDriver driver;
+    private final DevTools devTools;
+    private boolean fetchEnabled;
+    private boolean changed;
+
+    private NetworkControl(WebDriver driver, DevTools devTools) {
+        this.driver = driver;
+        this.devTools = devTools;
+    }
+
+    /**
+     * Control for the session, or empty when the browser has no CDP.
+     */
+    public static Optional<NetworkControl> of(WebDriver driver) {
+        return Cdp.devTools(driver).map(devTools -> new NetworkControl(driver, devTools));
+    }
+
+    /**
+     * Whether the network.* properties ask for blocking or throttling in every test.
+     */
+    public static boolean hasSuiteSettings() {
+        return !list("network.block.types").isEmpty() || !list("network.block.urls").isEmpty()
+                || NetworkPreset.parse(TestProperties.get("network.profile", "NONE")) != NetworkPreset.NONE
+                || Double.parseDouble(TestProperties.get("network.cpu.slowdown", "1")) > 1;
+    }
+
+    /**
+     * Applies the annotation merged over the network.* properties. Returns true if anything was changed.
+     */
+    public boolean apply(NetworkConditions conditions) {
+        List<String> types = conditions != null && conditions.blockTypes().length > 0
+                ? Arrays.asList(conditions.blockTypes()) : list("network.block.types");
+        List<String> urls = conditions != null && conditions.blockUrls().length > 0
+                ? Arrays.asList(conditions.blockUrls()) : list("network.block.urls");
+        String network = conditions != null && !conditions.network().isBlank()
+                ? conditions.network() : TestProperties.get("network.profile", "NONE");
+        double cpu = conditions != null && conditions.cpuSlowdown() > 0
+                ? conditions.cpuSlowdown() : Double.parseDouble(TestProperties.get("network.cpu.slowdown", "1"));
+
+        if (!types.isEmpty()) {
+            blockTypes(types);
+        }
+        if (!urls.isEmpty()) {
+            blockUrls(urls);
+        }
+        NetworkPreset preset = NetworkPreset.parse(network);
+        if (preset != NetworkPreset.NONE) {
+            throttle(preset);
+        }
+        if (cpu > 1) {
+            cpuSlowdown(cpu);
+        }
+        return changed;
+    }
+
+    public NetworkControl blockTypes(List<String> resourceTypes) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : resourceTypes) {
+            String name = RESOURCE_TYPES.stream()
+                    .filter(known -> known.equalsIgnoreCase(type.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown resource type " + type + ", expected one of " + RESOURCE_TYPES));
+            patterns.add(Map.of("urlPattern", "*", "resourceType", name, "requestStage", "Request"));
+        }
+        if (!fetchEnabled) {
+            Cdp.on(devTools, "Fetch.requestPaused", event -> RESPONDER.execute(() -> {
+                try {
+                    Cdp.send(devTools, "Fetch.failRequest",
+                            Map.of("requestId", event.get("requestId"), "errorReason", "BlockedByClient"));
+                } catch (RuntimeException e) {
+                    // Page navigated away or the session closed while the request was paused
+                }
+            }));
+            fetchEnabled = true;
+        }
+        Cdp.send(devTools, "Fetch.enable", Map.of("patterns", patterns));
+        changed = true;
+        return this;
+    }
+
+    public NetworkControl blockUrls(List<String> urlPatterns) {
+        Cdp.send(devTools, "Network.enable", Map.of());
+        Cdp.send(devTools, "Network.setBlockedURLs", Map.of("urls", urlPatterns));
+        changed = true;
+        return this;
+    }
+
+    public NetworkControl throttle(NetworkPreset preset) {
+        Cdp.send(devTools, "Network.enable", Map.of());
+        Cdp.send(devTools, "Network.emulateNetworkConditions", Map.of(
+                "offline", preset.isOffline(),
+                "latency", preset.getLatencyMs(),
+                "downloadThroughput", preset.getDownloadBytesPerSecond(),
+                "uploadThroughput", preset.getUploadBytesPerSecond()));
+        changed = true;
+        return this;
+    }
+
+    public NetworkControl cpuSlowdown(double rate) {
+        Cdp.send(devTools, "Emulation.setCPUThrottlingRate", Map.of("rate", rate));
+        changed = true;
+        return this;
+    }
+
+    /**
+     * Lifts every block and throttle this control applied.
+     */
+    public void reset() {
+        if (!changed) {
+            return;
+        }
+        if (fetchEnabled) {
+            Cdp.send(devTools, "Fetch.disable", Map.of());
+            fetchEnabled = false;
+        }
+        Cdp.send(devTools, "Network.setBlockedURLs", Map.of("urls", List.of()));
+        throttle(NetworkPreset.NONE);
+        Cdp.send(devTools, "Emulation.setCPUThrottlingRate", Map.of("rate", 1));
+        changed = false;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    private static List<String> list(String key) {
+        String value = TestProperties.get(key);
+        return value == null ? List.of() : Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mycare.qa.driver;
+
+/**
+ * Network throttling profiles with the same numbers as the Chrome DevTools presets. Throughput is in bytes per
+ * second, -1 meaning unthrottled.
+ */
+public enum NetworkPreset {
+    NONE(false, 0, -1, -1),
+    SLOW_3G(false, 2000, 500 * 1000 / 8 * 0.8, 500 * 1000 / 8 * 0.8),
+    FAST_3G(false, 562.5, 1.6 * 1000 * 1000 / 8 * 0.9, 750 * 1000 / 8 * 0.9),
+    SLOW_4G(false, 150, 4 * 1000 * 1000 / 8 * 0.9, 3 * 1000 * 1000 / 8 * 0.9),
+    OFFLINE(true, 0, 0, 0);
+
+    private final boolean offline;
+    private final double latencyMs;
+    private final double downloadBytesPerSecond;
+    private final double uploadBytesPerSecond;
+
+    NetworkPreset(boolean offline, double latencyMs, double downloadBytesPerSecond, double uploadBytesPerSecond) {
+        this.offline = offline;
+        this.latencyMs = latencyMs;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+    }
+
+    /**
+     * Accepts enum names as well as the DevTools spelling, e.g. "slow-3g" or "Slow 3G".
+     */
+    public static NetworkPreset parse(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_').replace(' ', '_'));
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public double getLatencyMs() {
+        return latencyMs;
+    }
+
+    public double getDownloadBytesPerSecond() {
+        return downloadBytesPerSecond;
+    }
+
+    public double getUploadBytesPerSecond() {
+        return uploadBytesPerSecond;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycare.qa.driver;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects how long each test waited for its browser session, so launch profiles can be compared.
+ */
+public final class StartupTimings {
+    private static final Queue<Entry> CHECKOUTS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Boolean> LAUNCHED_ON_THREAD = ThreadLocal.withInitial(() -> false);
+    private static volatile long jvmToFirstTestMillis = -1;
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Records the time from JVM start to the first suite configuration method, i.e. what every shard pays
+     * before any test work begins. Only the first call counts.
+     */
+    public static synchronized void recordFirstTest() {
+        if (jvmToFirstTestMillis >= 0) {
+            return;
+        }
+        jvmToFirstTestMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.printf("JVM to first test: %d ms%n", jvmToFirstTestMillis);
+    }
+
+    static void recordLaunch() {
+        LAUNCHED_ON_THREAD.set(true);
+    }
+
+    /**
+     * Records the session checkout for a test; cold means a new browser had to be launched for it.
+     */
+    public static void recordCheckout(String test, LaunchProfile profile, Duration duration) {
+        boolean cold = LAUNCHED_ON_THREAD.get();
+        LAUNCHED_ON_THREAD.remove();
+        CHECKOUTS.add(new Entry(test, profile.key(), Thread.currentThread().getName(), cold, duration.toMillis()));
+    }
+
+    /**
+     * Writes startup-times.csv to the reports directory and prints a one-line summary.
+     */
+    public static void report() {
+        List<Entry> entries = new ArrayList<>(CHECKOUTS);
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("test,profile,thread,cold,millis");
+        long coldTotal = 0;
+        long warmTotal = 0;
+        int cold = 0;
+        for (Entry entry : entries) {
+            lines.add(String.join(",", entry.test, entry.profile, entry.thread,
+                    String.valueOf(entry.cold), String.valueOf(entry.millis)));
+            if (entry.cold) {
+                cold++;
+                coldTotal += entry.millis;
+            } else {
+                warmTotal += entry.millis;
+            }
+        }
+        int warm = entries.size() - cold;
+
+        Path file = TestProperties.reportsDir().resolve("startup-times.csv");
+        try {
+            Files.write(file, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+        System.out.printf("Browser startup: JVM to first test %d ms, %d tests, %d cold launches (avg %d ms), "
+                        + "%d warm checkouts (avg %d ms), total %d ms -> %s%n",
+                jvmToFirstTestMillis, entries.size(), cold, cold == 0 ? 0 : coldTotal / cold, warm,
+                warm == 0 ? 0 : warmTotal / warm, coldTotal + warmTotal, file);
+    }
+
+    private record Entry(String test, String profile, String thread, boolean cold, long millis) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.mycare.qa.impact;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Picks the TestNG methods a change can affect. Enabled with -Dimpact.base=<git ref> (files changed since that
+ * ref, working tree included) or -Dimpact.files=a,b,c. A changed component selects the methods using the
+ * data-testid values it renders; a changed test, page object or harness class selects the methods whose classes
+ * reach it. Shared files listed in impact.full.suite.paths, deleted files and anything else under the frontend
+ * that is not a component select the whole suite.
+ */
+public final class ImpactAnalysis {
+    private static volatile Selection current;
+
+    private ImpactAnalysis() {
+    }
+
+    public static boolean isEnabled() {
+        return !TestProperties.get("impact.base", "").isBlank() || !TestProperties.get("impact.files", "").isBlank();
+    }
+
+    /**
+     * The selection for this run, computed once; null when impact analysis is off.
+     */
+    public static Selection current() {
+        if (!isEnabled()) {
+            return null;
+        }
+        Selection selection = current;
+        if (selection == null) {
+            synchronized (ImpactAnalysis.class) {
+                selection = current;
+                if (selection == null) {
+                    Path root = Paths.get(TestProperties.get("impact.repo.root", ".."));
+                    SourceIndex index = SourceIndex.build(root, frontendDir(), javaDir());
+                    selection = select(index, changedFiles(root), fullSuitePaths());
+                    selection.print();
+                    current = selection;
+                }
+            }
+        }
+        return selection;
+    }
+
+    static Selection select(SourceIndex index, List<String> changed, List<String> fullSuitePaths) {
+        Set<String> stopAt = new TreeSet<>(fullSuitePaths);
+        Set<String> methods = new TreeSet<>(index.unmappedMethods());
+        Map<String, Set<String>> because = new LinkedHashMap<>();
+        for (String file : changed) {
+            String shared = fullSuitePaths.stream().filter(file::startsWith).findFirst().orElse(null);
+            if (shared != null) {
+                return Selection.full(changed, file + " is shared (" + shared + ")");
+            }
+            Set<String> affected;
+            if (file.startsWith(javaDir() + "/") && file.endsWith(".java")) {
+                String name = index.classForFile(file).orElse(null);
+                if (name == null) {
+                    return Selection.full(changed, file + " is not in the test sources any more");
+                }
+                affected = index.methodsUsingClass(name);
+            } else if (file.startsWith(frontendDir() + "/")) {
+                if (!file.endsWith(".tsx") && !file.endsWith(".ts")) {
+                    return Selection.full(changed, file + " is not a component");
+                }
+                if (!index.renderedIds().containsKey(file)) {
+                    return Selection.full(changed, file + " was deleted or moved");
+                }
+                affected = index.methodsUsingAny(index.affectedIds(file, stopAt));
+            } else {
+                continue;
+            }
+            because.put(file, affected);
+            methods.addAll(affected);
+        }
+        return new Selection(false, null, changed, methods, because, index.allMethods().size());
+    }
+
+    /**
+     * impact.files when set, otherwise git diff --name-only against impact.base plus untracked files.
+     */
+    static List<String> changedFiles(Path root) {
+        String files = TestProperties.get("impact.files", "");
+        if (!files.isBlank()) {
+            return Arrays.stream(files.split(",")).map(String::trim).filter(file -> !file.isEmpty()).toList();
+        }
+        List<String> changed = new ArrayList<>(git(root, "diff", "--name-only", TestProperties.get("impact.base")));
+        changed.addAll(git(root, "ls-files", "--others", "--exclude-standard"));
+        return changed.stream().distinct().toList();
+    }
+
+    private static List<String> git(Path root, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(root.toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " failed: " + output);
+            }
+            return output.lines().map(String::trim).filter(line -> !line.isEmpty()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to run git", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running git", e);
+        }
+    }
+
+    private static String frontendDir() {
+        return TestProperties.get("impact.frontend.dir", "src");
+    }
+
+    private static String javaDir() {
+        return TestProperties.get("impact.java.dir", "qa-tests/src/test/java");
+    }
+
+    private static List<String> fullSuitePaths() {
+        return Arrays.stream(TestProperties.get("impact.full.suite.paths", "").split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Methods are keyed Class#method with the fully qualified class name, as TestNG reports them.
+     */
+    public record Selection(boolean fullSuite, String reason, List<String> changedFiles, Set<String> methods,
+                            Map<String, Set<String>> because, int indexedMethods) {
+
+        static Selection full(List<String> changed, String reason) {
+            return new Selection(true, reason, changed, Set.of(), Map.of(), 0);
+        }
+
+        public boolean includes(String className, String methodName) {
+            return fullSuite || methods.contains(className + "#" + methodName);
+        }
+
+        public void print() {
+            System.out.printf("Impact analysis: %d changed files%n", changedFiles.size());
+            if (fullSuite) {
+                System.out.println("  running the full suite: " + reason);
+                return;
+            }
+            because.forEach((file, affected) -> System.out.println("  " + file + " -> "
+                    + (affected.isEmpty() ? "no tests" : String.join(", ", affected))));
+            System.out.printf("  selected %d of %d indexed test methods%n", methods.size(), indexedMethods);
+        }
+    }
+
+    /**
+     * Prints the selection for -Dimpact.base/-Dimpact.files, or the index itself when neither is set.
+     */
+    public static void main(String[] args) {
+        if (isEnabled()) {
+            current();
+            return;
+        }
+        SourceIndex index = SourceIndex.build(Paths.get(TestProperties.get("impact.repo.root", "..")), frontendDir(),
+                javaDir());
+        index.renderedIds().forEach((file, ids) -> {
+            if (!ids.isEmpty()) {
+                System.out.println(file + " renders " + ids);
+            }
+        });
+        index.methodIds().forEach((method, ids) -> System.out.println(method + " uses " + ids));
+    }
+}
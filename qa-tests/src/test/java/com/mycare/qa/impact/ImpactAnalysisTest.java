@@ -0,0 +1,94 @@
+package com.mycare.qa.impact;
+
+import com.mycare.qa.impact.ImpactAnalysis.Selection;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static com.mycare.qa.impact.SourceIndexTest.CART_TEST;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ImpactAnalysisTest {
+    private static final List<String> SHARED = List.of("src/App.tsx", "package.json");
+
+    private Path root;
+    private SourceIndex index;
+
+    @BeforeClass
+    public void buildIndex() throws IOException {
+        root = SourceIndexTest.writeFixture();
+        index = SourceIndex.build(root, SourceIndexTest.FRONTEND, SourceIndexTest.JAVA);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteFixture() throws IOException {
+        SourceIndexTest.delete(root);
+    }
+
+    @Test
+    public void testComponentChangeSelectsMethodsUsingItsIds() {
+        Selection selection = ImpactAnalysis.select(index, List.of("src/components/Header.tsx"), SHARED);
+
+        assertFalse(selection.fullSuite());
+        // testHealth uses no ids, so nothing rules it out
+        assertEquals(selection.methods(), Set.of(CART_TEST + "#testNavigation", CART_TEST + "#testHealth"));
+        assertEquals(selection.because().get("src/components/Header.tsx"), Set.of(CART_TEST + "#testNavigation"));
+        assertTrue(selection.includes(CART_TEST, "testNavigation"));
+        assertFalse(selection.includes(CART_TEST, "testTotal"));
+    }
+
+    @Test
+    public void testPageObjectChangeSelectsMethodsReachingIt() {
+        Selection selection = ImpactAnalysis.select(index,
+                List.of(SourceIndexTest.JAVA + "/com/mycare/qa/pages/CartPage.java"), SHARED);
+
+        assertFalse(selection.fullSuite());
+        assertEquals(selection.methods(), Set.of(CART_TEST + "#testTotal", CART_TEST + "#testCheckoutThroughField",
+                CART_TEST + "#testHealth"));
+    }
+
+    @Test
+    public void testSharedPathRunsTheFullSuite() {
+        Selection selection = ImpactAnalysis.select(index,
+                List.of("src/components/Header.tsx", "src/App.tsx"), SHARED);
+
+        assertTrue(selection.fullSuite());
+        assertTrue(selection.reason().contains("src/App.tsx is shared"), selection.reason());
+        assertTrue(selection.includes(CART_TEST, "testTotal"));
+    }
+
+    @Test
+    public void testDeletedFilesRunTheFullSuite() {
+        Selection component = ImpactAnalysis.select(index, List.of("src/components/Gone.tsx"), SHARED);
+        assertTrue(component.fullSuite());
+        assertTrue(component.reason().contains("deleted or moved"), component.reason());
+
+        Selection page = ImpactAnalysis.select(index,
+                List.of(SourceIndexTest.JAVA + "/com/mycare/qa/pages/GonePage.java"), SHARED);
+        assertTrue(page.fullSuite());
+        assertTrue(page.reason().contains("not in the test sources"), page.reason());
+    }
+
+    @Test
+    public void testNonComponentFrontendFileRunsTheFullSuite() {
+        Selection selection = ImpactAnalysis.select(index, List.of("src/index.css"), SHARED);
+        assertTrue(selection.fullSuite());
+        assertTrue(selection.reason().contains("not a component"), selection.reason());
+    }
+
+    @Test
+    public void testFilesOutsideBothTreesSelectOnlyUnmappedMethods() {
+        Selection selection = ImpactAnalysis.select(index, List.of("server/routes/orders.js", "README.md"), SHARED);
+
+        assertFalse(selection.fullSuite());
+        assertEquals(selection.methods(), Set.of(CART_TEST + "#testHealth"));
+        assertTrue(selection.because().isEmpty());
+    }
+}
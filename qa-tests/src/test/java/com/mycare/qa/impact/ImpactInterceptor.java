@@ -0,0 +1,35 @@
+package com.mycare.qa.impact;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drops the methods a change cannot affect when the run is started with -Dimpact.base or -Dimpact.files, and leaves
+ * the suite untouched otherwise. Registered through the surefire listener property ahead of the shard interceptor,
+ * so shards split what is left.
+ */
+public class ImpactInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ImpactAnalysis.Selection selection = ImpactAnalysis.current();
+        if (selection == null || selection.fullSuite()) {
+            return methods;
+        }
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (selection.includes(method.getRealClass().getName(), method.getMethodName())) {
+                selected.add(instance);
+            }
+        }
+        System.out.printf("Impact: running %d of %d methods in '%s'%n",
+                selected.size(), methods.size(), context.getCurrentXmlTest().getName());
+        return selected;
+    }
+}
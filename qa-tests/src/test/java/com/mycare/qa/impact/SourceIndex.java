@@ -0,0 +1,357 @@
+package com.mycare.qa.impact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Static map from frontend files to the TestNG methods that touch what they render, built from source text only.
+ * Components are indexed by the data-testid values they render and the files they import; test classes and page
+ * objects by the data-testid values in their string literals (CSS selectors, or bare ids for ElementQuery). A test
+ * method uses the ids in its own body, the ids its class uses outside test methods, and everything in the page
+ * objects it names, transitively.
+ */
+public final class SourceIndex {
+    private static final Pattern RENDERED = Pattern.compile("data-testid\\s*=\\s*[\"'{]`?([A-Za-z0-9_-]+)");
+    private static final Pattern IMPORT = Pattern.compile("(?:import|from)\\s+['\"](\\.[^'\"]+)['\"]");
+    private static final Pattern STRING = Pattern.compile("\"((?:[^\"\\\\\n]++|\\\\.)*+)\"");
+    private static final Pattern SELECTOR = Pattern.compile("data-testid\\s*=\\s*\\\\?['\"]?([A-Za-z0-9_-]+)");
+    private static final Pattern TEST_METHOD = Pattern.compile("@Test\\b[^;{]*?\\bvoid\\s+(\\w+)\\s*\\(");
+    private static final Pattern CLASS = Pattern.compile("\\bclass\\s+(\\w+)");
+    private static final Pattern PACKAGE = Pattern.compile("^package\\s+([\\w.]+);", Pattern.MULTILINE);
+
+    private final Path repoRoot;
+    // Repository-relative .ts/.tsx path -> ids it renders / files it imports
+    private final Map<String, Set<String>> rendered = new TreeMap<>();
+    private final Map<String, Set<String>> imports = new TreeMap<>();
+    // Simple class name -> ids in its literals / other indexed classes it names
+    private final Map<String, Set<String>> classIds = new TreeMap<>();
+    private final Map<String, Set<String>> classRefs = new TreeMap<>();
+    private final Map<String, String> classFiles = new TreeMap<>();
+    // Class#method -> ids it uses, page objects included
+    private final Map<String, Set<String>> methodIds = new TreeMap<>();
+    private final Map<String, String> methodClasses = new TreeMap<>();
+    private final Map<String, Set<String>> methodPages = new TreeMap<>();
+
+    private SourceIndex(Path repoRoot) {
+        this.repoRoot = repoRoot;
+    }
+
+    /**
+     * Indexes the frontend under frontendDir and the test sources under javaDir, both relative to repoRoot.
+     */
+    public static SourceIndex build(Path repoRoot, String frontendDir, String javaDir) {
+        SourceIndex index = new SourceIndex(repoRoot.toAbsolutePath().normalize());
+        index.indexFrontend(index.repoRoot.resolve(frontendDir));
+        index.indexJava(index.repoRoot.resolve(javaDir));
+        return index;
+    }
+
+    private void indexFrontend(Path dir) {
+        for (Path file : files(dir, ".tsx", ".ts")) {
+            String source = read(file);
+            String path = relative(file);
+            Set<String> ids = new TreeSet<>();
+            Matcher matcher = RENDERED.matcher(source);
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            rendered.put(path, ids);
+            Set<String> imported = new TreeSet<>();
+            matcher = IMPORT.matcher(source);
+            while (matcher.find()) {
+                resolveImport(file, matcher.group(1)).ifPresent(imported::add);
+            }
+            imports.put(path, imported);
+        }
+    }
+
+    private Optional<String> resolveImport(Path from, String specifier) {
+        Path base = from.getParent().resolve(specifier).normalize();
+        for (String candidate : List.of("", ".tsx", ".ts", "/index.tsx", "/index.ts")) {
+            Path file = Path.of(base + candidate);
+            if (Files.isRegularFile(file)) {
+                return Optional.of(relative(file));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void indexJava(Path dir) {
+        Set<String> known = new TreeSet<>();
+        rendered.values().forEach(known::addAll);
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Path file : files(dir, ".java")) {
+            String source = read(file);
+            Matcher name = CLASS.matcher(source);
+            if (name.find()) {
+                sources.put(name.group(1), source);
+                classFiles.put(name.group(1), relative(file));
+            }
+        }
+        sources.forEach((name, source) -> {
+            Set<String> refs = new TreeSet<>();
+            for (String other : sources.keySet()) {
+                if (!other.equals(name) && Pattern.compile("\\b" + other + "\\b").matcher(source).find()) {
+                    refs.add(other);
+                }
+            }
+            classRefs.put(name, refs);
+        });
+
+        sources.forEach((name, source) -> {
+            Matcher pkg = PACKAGE.matcher(source);
+            String qualified = pkg.find() ? pkg.group(1) + "." + name : name;
+            StringBuilder outside = new StringBuilder(source);
+            Matcher test = TEST_METHOD.matcher(source);
+            Map<String, String> bodies = new LinkedHashMap<>();
+            while (test.find()) {
+                int open = source.indexOf('{', test.end());
+                int close = open < 0 ? -1 : matchingBrace(source, open);
+                if (close < 0) {
+                    continue;
+                }
+                bodies.put(test.group(1), source.substring(open, close + 1));
+                for (int i = open; i <= close; i++) {
+                    outside.setCharAt(i, ' ');
+                }
+            }
+            classIds.put(name, ids(source, known));
+            Set<String> shared = ids(outside.toString(), known);
+            bodies.forEach((method, body) -> {
+                Set<String> ids = new TreeSet<>(shared);
+                ids.addAll(ids(body, known));
+                Set<String> pages = new TreeSet<>();
+                for (String page : classRefs.get(name)) {
+                    if (isPageObject(sources.get(page)) && (named(body, page)
+                            || fieldsOfType(outside.toString(), page).stream().anyMatch(field -> named(body, field)))) {
+                        reachable(Set.of(page)).stream().filter(ref -> isPageObject(sources.get(ref))).forEach(pages::add);
+                    }
+                }
+                pages.forEach(page -> ids.addAll(classIds.getOrDefault(page, Set.of())));
+                methodIds.put(qualified + "#" + method, ids);
+                methodPages.put(qualified + "#" + method, pages);
+                methodClasses.put(qualified + "#" + method, name);
+            });
+        });
+    }
+
+    private static boolean named(String source, String name) {
+        return Pattern.compile("\\b" + name + "\\b").matcher(source).find();
+    }
+
+    /**
+     * Names of the fields declared with the type, including wrapped ones such as ThreadLocal&lt;HomePage&gt;.
+     */
+    private static Set<String> fieldsOfType(String source, String type) {
+        Set<String> fields = new TreeSet<>();
+        Matcher matcher = Pattern.compile("\\b" + type + "\\b[>\\]\\s]*\\s(\\w+)\\s*[=;]").matcher(source);
+        while (matcher.find()) {
+            fields.add(matcher.group(1));
+        }
+        return fields;
+    }
+
+    private static boolean isPageObject(String source) {
+        return source != null && source.contains("package com.mycare.qa.pages;");
+    }
+
+    private Set<String> reachable(Set<String> start) {
+        Set<String> seen = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>(start);
+        while (!queue.isEmpty()) {
+            String next = queue.poll();
+            if (seen.add(next)) {
+                queue.addAll(classRefs.getOrDefault(next, Set.of()));
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * data-testid values in the string literals of a piece of Java: inside selectors, or bare literals that a
+     * component renders.
+     */
+    private static Set<String> ids(String source, Set<String> known) {
+        Set<String> ids = new TreeSet<>();
+        Matcher literal = STRING.matcher(source);
+        while (literal.find()) {
+            String value = literal.group(1);
+            Matcher selector = SELECTOR.matcher(value);
+            boolean any = false;
+            while (selector.find()) {
+                ids.add(selector.group(1));
+                any = true;
+            }
+            if (!any && known.contains(value)) {
+                ids.add(value);
+            }
+        }
+        return ids;
+    }
+
+    private static int matchingBrace(String source, int open) {
+        int depth = 0;
+        boolean inString = false;
+        char quote = 0;
+        for (int i = open; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    inString = false;
+                }
+            } else if (c == '/' && i + 1 < source.length() && source.charAt(i + 1) == '/') {
+                i = source.indexOf('\n', i);
+                if (i < 0) {
+                    return -1;
+                }
+            } else if (c == '/' && i + 1 < source.length() && source.charAt(i + 1) == '*') {
+                i = source.indexOf("*/", i + 2);
+                if (i < 0) {
+                    return -1;
+                }
+                i++;
+            } else if (c == '"' || c == '\'') {
+                inString = true;
+                quote = c;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The ids a frontend file can affect: the ones it renders, or if it renders none, the ones rendered by the
+     * nearest files that import it. Files in stopAt (the app shell) are not climbed through.
+     */
+    public Set<String> affectedIds(String frontendFile, Set<String> stopAt) {
+        Set<String> ids = new TreeSet<>();
+        Set<String> seen = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>(List.of(frontendFile));
+        while (!queue.isEmpty()) {
+            String file = queue.poll();
+            if (!seen.add(file) || stopAt.contains(file)) {
+                continue;
+            }
+            Set<String> own = rendered.getOrDefault(file, Set.of());
+            if (!own.isEmpty()) {
+                ids.addAll(own);
+                continue;
+            }
+            imports.forEach((importer, imported) -> {
+                if (imported.contains(file)) {
+                    queue.add(importer);
+                }
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Test methods affected by a change to the given Java class: for a page object, the methods that use it;
+     * otherwise every method of a class that is, or reaches, the changed class.
+     */
+    public Set<String> methodsUsingClass(String simpleName) {
+        Set<String> methods = new TreeSet<>();
+        boolean page = methodPages.values().stream().anyMatch(pages -> pages.contains(simpleName));
+        methodClasses.forEach((method, owner) -> {
+            boolean affected = page
+                    ? owner.equals(simpleName) || methodPages.get(method).contains(simpleName)
+                    : owner.equals(simpleName) || reachable(Set.of(owner)).contains(simpleName);
+            if (affected) {
+                methods.add(method);
+            }
+        });
+        return methods;
+    }
+
+    public Set<String> methodsUsingAny(Set<String> ids) {
+        Set<String> methods = new TreeSet<>();
+        methodIds.forEach((method, used) -> {
+            if (used.stream().anyMatch(ids::contains)) {
+                methods.add(method);
+            }
+        });
+        return methods;
+    }
+
+    /**
+     * Methods that use no data-testid at all; nothing can rule them out, so they always run.
+     */
+    public Set<String> unmappedMethods() {
+        Set<String> methods = new TreeSet<>();
+        methodIds.forEach((method, used) -> {
+            if (used.isEmpty()) {
+                methods.add(method);
+            }
+        });
+        return methods;
+    }
+
+    public Set<String> allMethods() {
+        return new TreeSet<>(methodIds.keySet());
+    }
+
+    public Map<String, Set<String>> methodIds() {
+        return methodIds;
+    }
+
+    public Map<String, Set<String>> renderedIds() {
+        return rendered;
+    }
+
+    /**
+     * Simple class name for a repository-relative .java path, if the file was indexed.
+     */
+    public Optional<String> classForFile(String path) {
+        return classFiles.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(path))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    private String relative(Path file) {
+        return repoRoot.relativize(file.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    private static List<Path> files(Path dir, String... extensions) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(file -> Stream.of(extensions).anyMatch(file.toString()::endsWith))
+                    .filter(file -> !file.toString().contains("node_modules"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + dir, e);
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.mycare.qa.impact;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SourceIndexTest {
+    static final String FRONTEND = "src";
+    static final String JAVA = "qa-tests/src/test/java";
+    static final String CART_TEST = "com.mycare.qa.tests.CartTest";
+
+    private Path root;
+    private SourceIndex index;
+
+    @BeforeClass
+    public void buildIndex() throws IOException {
+        root = writeFixture();
+        index = SourceIndex.build(root, FRONTEND, JAVA);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteFixture() throws IOException {
+        delete(root);
+    }
+
+    @Test
+    public void testComponentsAreIndexedByTheIdsTheyRender() {
+        assertEquals(index.renderedIds().get("src/components/Cart.tsx"), Set.of("cart-total", "cart-checkout"));
+        assertEquals(index.renderedIds().get("src/components/Price.tsx"), Set.of());
+        assertEquals(index.affectedIds("src/components/Header.tsx", Set.of()), Set.of("nav-home"));
+    }
+
+    @Test
+    public void testComponentWithoutIdsClimbsToItsImporters() {
+        assertEquals(index.affectedIds("src/components/Price.tsx", Set.of()), Set.of("cart-total", "cart-checkout"));
+    }
+
+    @Test
+    public void testAppShellIsNotClimbedThrough() {
+        assertEquals(index.affectedIds("src/util/format.ts", Set.of()), Set.of("app-root"));
+        assertEquals(index.affectedIds("src/util/format.ts", Set.of("src/App.tsx")), Set.of());
+    }
+
+    @Test
+    public void testMethodsUseTheirOwnIdsAndThoseOfTheirPageObjects() {
+        Map<String, Set<String>> methodIds = index.methodIds();
+        assertEquals(methodIds.get(CART_TEST + "#testTotal"), Set.of("cart-total", "cart-checkout"));
+        assertEquals(methodIds.get(CART_TEST + "#testCheckoutThroughField"), Set.of("cart-total", "cart-checkout"));
+        assertEquals(methodIds.get(CART_TEST + "#testNavigation"), Set.of("nav-home"));
+        assertEquals(index.unmappedMethods(), Set.of(CART_TEST + "#testHealth"));
+    }
+
+    @Test
+    public void testPageObjectChangeSelectsOnlyItsUsers() {
+        assertEquals(index.methodsUsingClass("CartPage"),
+                Set.of(CART_TEST + "#testTotal", CART_TEST + "#testCheckoutThroughField"));
+        assertEquals(index.methodsUsingClass("CartTest"), index.allMethods());
+    }
+
+    @Test
+    public void testJavaFilesMapToTheirClasses() {
+        assertEquals(index.classForFile(JAVA + "/com/mycare/qa/pages/CartPage.java").orElseThrow(), "CartPage");
+        assertTrue(index.classForFile(JAVA + "/com/mycare/qa/pages/GonePage.java").isEmpty());
+    }
+
+    /**
+     * A repository in miniature: an app shell, three components, a helper and one test class with a page object.
+     */
+    static Path writeFixture() throws IOException {
+        Path root = Files.createTempDirectory("impact");
+        write(root, "src/App.tsx", """
+                import Header from './components/Header';
+                import Cart from './components/Cart';
+                import { format } from './util/format';
+                export default function App() { return <div data-testid="app-root"><Header /><Cart /></div>; }
+                """);
+        write(root, "src/util/format.ts", "export const format = (n: number) => n.toFixed(2);\n");
+        write(root, "src/components/Header.tsx", """
+                export default function Header() { return <a data-testid="nav-home" href="/">Home</a>; }
+                """);
+        write(root, "src/components/Cart.tsx", """
+                import Price from './Price';
+                export default function Cart() {
+                  return <div data-testid="cart-total"><Price /><button data-testid={`cart-checkout`}>Pay</button></div>;
+                }
+                """);
+        write(root, "src/components/Price.tsx", "export default function Price() { return <span>0.00</span>; }\n");
+        write(root, JAVA + "/com/mycare/qa/pages/CartPage.java", """
+                package com.mycare.qa.pages;
+
+                public class CartPage {
+                    private static final String TOTAL = "[data-testid='cart-total']";
+                    private static final String CHECKOUT = "cart-checkout";
+                }
+                """);
+        write(root, JAVA + "/com/mycare/qa/tests/CartTest.java", """
+                package com.mycare.qa.tests;
+
+                public class CartTest {
+                    private final CartPage cart = new CartPage();
+
+                    @Test
+                    public void testTotal() {
+                        new CartPage();
+                    }
+
+                    @Test
+                    public void testCheckoutThroughField() {
+                        cart.checkout();
+                    }
+
+                    @Test
+                    public void testNavigation() {
+                        find("[data-testid=\\"nav-home\\"]");
+                    }
+
+                    @Test
+                    public void testHealth() {
+                        get("/api/health");
+                    }
+                }
+                """);
+        return root;
+    }
+
+    static void delete(Path root) throws IOException {
+        if (root == null) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void write(Path root, String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
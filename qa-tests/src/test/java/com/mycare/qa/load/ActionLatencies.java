@@ -0,0 +1,97 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.perf.Stats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe latency and error counts per named user action.
+ */
+public class ActionLatencies {
+    private final Map<String, ConcurrentLinkedQueue<Double>> samples = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    public void time(String action, Runnable step) {
+        time(action, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the step and records its latency; failures are counted against the action and rethrown.
+     */
+    public <T> T time(String action, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            record(action, (System.nanoTime() - start) / 1_000_000.0);
+            return result;
+        } catch (RuntimeException e) {
+            error(action);
+            throw e;
+        }
+    }
+
+    public void record(String action, double millis) {
+        samples.computeIfAbsent(action, key -> new ConcurrentLinkedQueue<>()).add(millis);
+    }
+
+    public void error(String action) {
+        errors.computeIfAbsent(action, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Per-action summary; throughput is successful actions per second over the given elapsed time.
+     */
+    public Map<String, Summary> summarize(double elapsedSeconds) {
+        Map<String, Summary> result = new LinkedHashMap<>();
+        List<String> actions = new ArrayList<>(samples.keySet());
+        errors.keySet().stream().filter(action -> !actions.contains(action)).forEach(actions::add);
+        actions.sort(null);
+        for (String action : actions) {
+            List<Double> values = new ArrayList<>(samples.getOrDefault(action, new ConcurrentLinkedQueue<>()));
+            long errorCount = errors.getOrDefault(action, new AtomicLong()).get();
+            result.put(action, new Summary(action, values.size(), errorCount,
+                    Stats.percentile(values, 50), Stats.percentile(values, 95), Stats.percentile(values, 99),
+                    values.stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN),
+                    elapsedSeconds > 0 ? values.size() / elapsedSeconds : 0));
+        }
+        return result;
+    }
+
+    public record Summary(String action, long count, long errors, double p50, double p95, double p99, double max,
+                          double throughputPerSecond) {
+
+        public double errorRatePct() {
+            long total = count + errors;
+            return total == 0 ? 0 : errors * 100.0 / total;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("action", action);
+            map.put("count", count);
+            map.put("errors", errors);
+            map.put("errorRatePct", errorRatePct());
+            map.put("p50Ms", jsonNumber(p50));
+            map.put("p95Ms", jsonNumber(p95));
+            map.put("p99Ms", jsonNumber(p99));
+            map.put("maxMs", jsonNumber(max));
+            map.put("throughputPerSecond", throughputPerSecond);
+            return map;
+        }
+
+        // JSON has no NaN; actions that only ever failed have no latency
+        private static Double jsonNumber(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the Express API. Scenario arrivals are started on a fixed schedule at the
+ * stage's rate, whether or not earlier arrivals have finished, each on its own virtual thread. Stages step the
+ * rate up so the report shows where the API saturates: achieved throughput falls behind the arrival rate, the
+ * error rate climbs, or p99 crosses the configured limit.
+ */
+public class ApiLoadGenerator {
+    private static final Json JSON = new Json();
+    private static final String SCENARIO_KEY = "(scenario)";
+
+    private final ApiScenario scenario;
+    private final Config config;
+    private final List<Map<String, String>> users;
+    private final AtomicLong nextUser = new AtomicLong();
+    private final HttpClient http;
+
+    public ApiLoadGenerator(ApiScenario scenario, Config config) {
+        this(scenario, config, List.of());
+    }
+
+    /**
+     * Arrivals take turns over the users' variables (e.g. token, bulkOrderId), layered over the static
+     * ones, so the load is spread over many accounts and orders instead of one.
+     */
+    public ApiLoadGenerator(ApiScenario scenario, Config config, List<Map<String, String>> users) {
+        Map<String, String> available = new HashMap<>(config.variables());
+        if (!users.isEmpty()) {
+            available.putAll(users.get(0));
+        }
+        this.scenario = scenario.runnableWith(available, config.skippedSteps());
+        this.config = config;
+        this.users = List.copyOf(users);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * True when GET {baseUrl}/health answers 200, so a run against a stopped server fails in seconds.
+     */
+    public boolean isApiUp() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/health"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Result run() {
+        List<Stage> stages = new ArrayList<>();
+        for (int rate : config.rates()) {
+            Stage stage = runStage(rate);
+            stages.add(stage);
+            stage.print(config);
+            if (!stage.brokenEndpoints().isEmpty()) {
+                // Higher rates would only repeat the same failure
+                break;
+            }
+            if (stage.isSaturated(config) && config.stopAtSaturation()) {
+                break;
+            }
+        }
+        return new Result(scenario.getName(), config, stages);
+    }
+
+    private Stage runStage(int rate) {
+        Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        for (ApiScenario.Step step : scenario.getSteps()) {
+            endpoints.put(step.name(), new EndpointStats(step.name()));
+        }
+        endpoints.put(SCENARIO_KEY, new EndpointStats(SCENARIO_KEY));
+
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        LongAdder arrivals = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = start + config.stageDuration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long k = 0; ; k++) {
+                long intendedStart = start + k * interval;
+                if (intendedStart >= end) {
+                    break;
+                }
+                parkUntil(intendedStart);
+                arrivals.increment();
+                if (!inFlight.tryAcquire()) {
+                    // Generator-side cap so a saturated server cannot exhaust memory; counted against the stage
+                    dropped.increment();
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        runArrival(intendedStart, endpoints);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Stage(rate, arrivals.sum(), dropped.sum(), config.stageDuration().toNanos() / 1_000_000_000.0,
+                elapsedSeconds, endpoints);
+    }
+
+    private void runArrival(long intendedStart, Map<String, EndpointStats> endpoints) {
+        Map<String, String> variables = new HashMap<>(config.variables());
+        if (!users.isEmpty()) {
+            variables.putAll(users.get((int) (nextUser.getAndIncrement() % users.size())));
+        }
+        long intended = intendedStart;
+        for (ApiScenario.Step step : scenario.getSteps()) {
+            long sent = System.nanoTime();
+            String outcome;
+            boolean success;
+            try {
+                HttpResponse<String> response = http.send(request(step, variables), HttpResponse.BodyHandlers.ofString());
+                outcome = String.valueOf(response.statusCode());
+                success = response.statusCode() >= 200 && response.statusCode() < 300;
+                if (success) {
+                    step.extractInto(response.body(), variables);
+                }
+            } catch (IOException | RuntimeException e) {
+                outcome = e.getClass().getSimpleName();
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long completed = System.nanoTime();
+            endpoints.get(step.name()).record(intended, sent, completed, outcome, success);
+            if (!success) {
+                // Later steps depend on earlier ones (e.g. the login token), so the arrival ends here
+                endpoints.get(SCENARIO_KEY).record(intendedStart, intendedStart, completed, "failed:" + step.name(), false);
+                return;
+            }
+            // The next step is issued as soon as this one completes, so it is not delayed by the schedule
+            intended = completed;
+        }
+        endpoints.get(SCENARIO_KEY).record(intendedStart, intendedStart, System.nanoTime(), "completed", true);
+    }
+
+    private HttpRequest request(ApiScenario.Step step, Map<String, String> variables) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl() + step.resolvePath(variables)))
+                .timeout(config.requestTimeout())
+                .header("Accept", "application/json");
+        if (step.auth()) {
+            builder.header("Authorization", "Bearer " + variables.get("token"));
+        }
+        String body = step.resolveBody(variables);
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+            builder.method(step.method(), HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(step.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public record Config(String baseUrl, List<Integer> rates, Duration stageDuration, Duration requestTimeout,
+                         int maxInFlight, double maxErrorPct, double p99LimitMs, boolean stopAtSaturation,
+                         List<String> skippedSteps, Map<String, String> variables) {
+
+        /**
+         * Reads load.api.* settings; rates and skip.steps are comma-separated lists, rates in arrivals per second,
+         * one stage each.
+         */
+        public static Config fromProperties() {
+            return new Config(
+                    TestProperties.get("load.api.url", TestProperties.get("api.url", "http://localhost:5000/api")),
+                    Arrays.stream(TestProperties.get("load.api.rates", "5,10,20,50").split(","))
+                            .map(String::trim)
+                            .map(Integer::parseInt)
+                            .toList(),
+                    Duration.ofSeconds(TestProperties.getLong("load.api.stage.seconds", 30)),
+                    Duration.ofSeconds(TestProperties.getLong("load.api.request.timeout.seconds", 30)),
+                    TestProperties.getInt("load.api.max.in.flight", 5000),
+                    Double.parseDouble(TestProperties.get("load.api.max.error.pct", "1")),
+                    Double.parseDouble(TestProperties.get("load.api.p99.limit.ms", "2000")),
+                    TestProperties.getBoolean("load.api.stop.at.saturation", true),
+                    Arrays.stream(TestProperties.get("load.api.skip.steps", "").split(","))
+                            .map(String::trim)
+                            .filter(step -> !step.isEmpty())
+                            .toList(),
+                    ApiScenario.variablesFromProperties());
+        }
+    }
+
+    /**
+     * One stage's results. windowSeconds is the arrival window the rates are computed over; elapsedSeconds also
+     * includes draining requests still in flight when the window closed, which is not lost throughput.
+     */
+    public record Stage(int rate, long arrivals, long dropped, double windowSeconds, double elapsedSeconds,
+                        Map<String, EndpointStats> endpoints) {
+
+        public EndpointStats scenario() {
+            return endpoints.get(SCENARIO_KEY);
+        }
+
+        public double achievedRate() {
+            EndpointStats scenario = scenario();
+            return (scenario.getRequests() - scenario.getErrors()) / windowSeconds;
+        }
+
+        public boolean isSaturated(Config config) {
+            EndpointStats scenario = scenario();
+            double p99Ms = scenario.getResponseTime().getTotalCount() == 0
+                    ? 0 : scenario.getResponseTime().getValueAtPercentile(99) / 1000.0;
+            return dropped > 0
+                    || achievedRate() < rate * 0.95
+                    || scenario.errorRatePct() > config.maxErrorPct()
+                    || p99Ms > config.p99LimitMs();
+        }
+
+        /**
+         * Steps where one non-2xx status makes up most of the responses, such as a login answering 401 to
+         * everyone: the stage measured a broken setup, not capacity.
+         */
+        public List<String> brokenEndpoints() {
+            List<String> broken = new ArrayList<>();
+            endpoints.forEach((name, stats) -> {
+                if (!SCENARIO_KEY.equals(name)) {
+                    stats.dominantErrorStatus().ifPresent(status -> broken.add(name + " answered " + status
+                            + " to most of its " + stats.getRequests() + " requests"));
+                }
+            });
+            return broken;
+        }
+
+        void print(Config config) {
+            System.out.printf("Stage %d/s: %d arrivals, %d dropped, achieved %.1f/s%s%n", rate, arrivals, dropped,
+                    achievedRate(), isSaturated(config) ? "  ** SATURATED **" : "");
+            brokenEndpoints().forEach(broken -> System.out.println("  ** BROKEN ** " + broken));
+            for (EndpointStats stats : endpoints.values()) {
+                if (stats.getRequests() == 0) {
+                    continue;
+                }
+                System.out.printf("  %-16s %7d req %6.2f%% err  p50 %8.1f ms  p99 %8.1f ms  max %8.1f ms%n",
+                        stats.getName(), stats.getRequests(), stats.errorRatePct(),
+                        stats.getResponseTime().getValueAtPercentile(50) / 1000.0,
+                        stats.getResponseTime().getValueAtPercentile(99) / 1000.0,
+                        stats.getResponseTime().getMaxValue() / 1000.0);
+            }
+        }
+
+        Map<String, Object> toMap(Config config) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rate", rate);
+            map.put("arrivals", arrivals);
+            map.put("dropped", dropped);
+            map.put("windowSeconds", windowSeconds);
+            map.put("elapsedSeconds", elapsedSeconds);
+            map.put("achievedRate", achievedRate());
+            map.put("saturated", isSaturated(config));
+            map.put("broken", brokenEndpoints());
+            map.put("endpoints", endpoints.values().stream().map(stats -> stats.toMap(windowSeconds)).toList());
+            return map;
+        }
+    }
+
+    public record Result(String scenario, Config config, List<Stage> stages) {
+
+        /**
+         * The highest stage rate that did not saturate the API, or 0 if even the first stage did.
+         */
+        public int saturationFreeRate() {
+            int rate = 0;
+            for (Stage stage : stages) {
+                if (stage.isSaturated(config)) {
+                    break;
+                }
+                rate = stage.rate();
+            }
+            return rate;
+        }
+
+        /**
+         * Every stage's broken endpoints, prefixed with the stage rate.
+         */
+        public List<String> brokenStages() {
+            List<String> broken = new ArrayList<>();
+            for (Stage stage : stages) {
+                stage.brokenEndpoints().forEach(endpoint -> broken.add(stage.rate() + "/s: " + endpoint));
+            }
+            return broken;
+        }
+
+        public Path writeJson(String fileName) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("scenario", scenario);
+            document.put("baseUrl", config.baseUrl());
+            document.put("stageSeconds", config.stageDuration().toSeconds());
+            document.put("saturationFreeRate", saturationFreeRate());
+            document.put("stages", stages.stream().map(stage -> stage.toMap(config)).toList());
+            return write(fileName, JSON.toJson(document));
+        }
+
+        public Path writeHtml(String fileName) {
+            StringBuilder html = new StringBuilder();
+            html.append("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>API load: ").append(scenario)
+                    .append("</title><style>body{font-family:sans-serif}table{border-collapse:collapse;margin-bottom:1.5em}"
+                            + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}th{background:#eee}"
+                            + ".saturated{color:#b00}</style></head><body>")
+                    .append("<h1>API load: ").append(scenario).append("</h1>")
+                    .append("<p>Target ").append(config.baseUrl()).append(", ").append(config.stageDuration().toSeconds())
+                    .append(" s per stage. Highest rate without saturation: <b>").append(saturationFreeRate())
+                    .append("/s</b>. Response times are measured from the scheduled arrival time.</p>");
+            for (Stage stage : stages) {
+                boolean saturated = stage.isSaturated(config);
+                html.append(String.format("<h2%s>%d arrivals/s &mdash; achieved %.1f/s, %d dropped%s</h2>",
+                        saturated ? " class=\"saturated\"" : "", stage.rate(), stage.achievedRate(), stage.dropped(),
+                        saturated ? " (saturated)" : ""));
+                for (String broken : stage.brokenEndpoints()) {
+                    html.append("<p class=\"saturated\">Broken: ").append(broken).append("</p>");
+                }
+                html.append("<table><tr><th>endpoint</th><th>requests</th><th>error %</th><th>p50 ms</th>"
+                        + "<th>p95 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>");
+                for (EndpointStats stats : stage.endpoints().values()) {
+                    if (stats.getRequests() == 0) {
+                        continue;
+                    }
+                    html.append(String.format("<tr><td>%s</td><td>%d</td><td>%.2f</td><td>%.1f</td><td>%.1f</td>"
+                                    + "<td>%.1f</td><td>%.1f</td><td>%.1f</td></tr>",
+                            stats.getName(), stats.getRequests(), stats.errorRatePct(),
+                            stats.getResponseTime().getValueAtPercentile(50) / 1000.0,
+                            stats.getResponseTime().getValueAtPercentile(95) / 1000.0,
+                            stats.getResponseTime().getValueAtPercentile(99) / 1000.0,
+                            stats.getResponseTime().getValueAtPercentile(99.9) / 1000.0,
+                            stats.getResponseTime().getMaxValue() / 1000.0));
+                }
+                html.append("</table>");
+            }
+            html.append("</body></html>");
+            return write(fileName, html.toString());
+        }
+
+        private static Path write(String fileName, String content) {
+            Path file = TestProperties.reportsDir().resolve(fileName);
+            try {
+                Files.writeString(file, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + file, e);
+            }
+            return file;
+        }
+    }
+}
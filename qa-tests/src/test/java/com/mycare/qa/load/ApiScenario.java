@@ -0,0 +1,176 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A recorded API session: an ordered list of requests that one arrival performs. Scenarios are JSON resources
+ * (see load/api-scenario.json) where paths and bodies may reference ${variables}. Variables come from
+ * load.api.var.* properties and from values a step extracts from its response, e.g. the login token.
+ */
+public final class ApiScenario {
+    private static final Json JSON = new Json();
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([A-Za-z0-9_.]+)}");
+
+    private final String name;
+    private final List<Step> steps;
+
+    private ApiScenario(String name, List<Step> steps) {
+        this.name = name;
+        this.steps = steps;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ApiScenario load(String resource) {
+        try (InputStream in = ApiScenario.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Scenario resource not found: " + resource);
+            }
+            Map<String, Object> document = JSON.toType(new String(in.readAllBytes(), StandardCharsets.UTF_8), Map.class);
+            List<Step> steps = new ArrayList<>();
+            for (Map<String, Object> step : (List<Map<String, Object>>) document.get("steps")) {
+                Object body = step.get("body");
+                steps.add(new Step(
+                        (String) step.get("name"),
+                        ((String) step.getOrDefault("method", "GET")).toUpperCase(),
+                        (String) step.get("path"),
+                        body == null ? null : JSON.toJson(body),
+                        Boolean.TRUE.equals(step.get("auth")),
+                        (Map<String, String>) step.getOrDefault("extract", Map.of())));
+            }
+            return new ApiScenario((String) document.getOrDefault("name", resource), steps);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read scenario " + resource, e);
+        }
+    }
+
+    /**
+     * Static variables for scenarios from load.api.var.* properties.
+     */
+    public static Map<String, String> variablesFromProperties() {
+        return new LinkedHashMap<>(TestProperties.withPrefix("load.api.var."));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * The step that extracts the given variable, e.g. the login step for "token".
+     */
+    public Optional<Step> stepExtracting(String variable) {
+        return steps.stream().filter(step -> step.extract().containsKey(variable)).findFirst();
+    }
+
+    /**
+     * Steps whose variables can all be satisfied by the given static variables plus earlier extractions.
+     * Steps that need data the environment does not provide (e.g. no bulkOrderId configured) are dropped, and so
+     * are the skipped ones the run opted out of by name. A step still runs when the variables it extracts are
+     * already supplied, e.g. login next to a seeded token, so the endpoint stays under load.
+     */
+    public ApiScenario runnableWith(Map<String, String> variables, Collection<String> skipped) {
+        List<Step> runnable = new ArrayList<>();
+        List<String> available = new ArrayList<>(variables.keySet());
+        for (Step step : steps) {
+            if (skipped.contains(step.name())) {
+                System.out.println("Skipping scenario step " + step.name() + ", listed in load.api.skip.steps");
+                continue;
+            }
+            List<String> needed = step.variables();
+            if (step.auth()) {
+                needed.add("token");
+            }
+            if (available.containsAll(needed)) {
+                runnable.add(step);
+                available.addAll(step.extract().keySet());
+            } else {
+                needed.removeAll(available);
+                System.err.println("Skipping scenario step " + step.name() + ", missing variables " + needed);
+            }
+        }
+        return new ApiScenario(name, runnable);
+    }
+
+    public record Step(String name, String method, String path, String body, boolean auth,
+                       Map<String, String> extract) {
+
+        public String resolvePath(Map<String, String> variables) {
+            return substitute(path, variables);
+        }
+
+        public String resolveBody(Map<String, String> variables) {
+            return body == null ? null : substitute(body, variables);
+        }
+
+        /**
+         * Copies the configured response fields into the variables. Paths are dotted, with numeric parts
+         * indexing into arrays, e.g. "token" or "data.0._id".
+         */
+        public void extractInto(String responseBody, Map<String, String> variables) {
+            if (extract.isEmpty() || responseBody == null || responseBody.isBlank()) {
+                return;
+            }
+            Object json = JSON.toType(responseBody, Object.class);
+            for (Map.Entry<String, String> entry : extract.entrySet()) {
+                Object value = json;
+                for (String part : entry.getValue().split("\\.")) {
+                    if (value instanceof Map<?, ?> map) {
+                        value = map.get(part);
+                    } else if (value instanceof List<?> list && part.matches("\\d+")) {
+                        int index = Integer.parseInt(part);
+                        value = index < list.size() ? list.get(index) : null;
+                    } else {
+                        value = null;
+                    }
+                }
+                if (value != null) {
+                    variables.put(entry.getKey(), value.toString());
+                }
+            }
+        }
+
+        public List<String> variables() {
+            List<String> names = new ArrayList<>();
+            for (String text : new String[] {path, body}) {
+                if (text != null) {
+                    Matcher matcher = VARIABLE.matcher(text);
+                    while (matcher.find()) {
+                        names.add(matcher.group(1));
+                    }
+                }
+            }
+            return names;
+        }
+
+        private static String substitute(String text, Map<String, String> variables) {
+            Matcher matcher = VARIABLE.matcher(text);
+            StringBuilder result = new StringBuilder();
+            while (matcher.find()) {
+                String value = variables.get(matcher.group(1));
+                if (value == null) {
+                    throw new IllegalStateException("Unresolved scenario variable " + matcher.group(1));
+                }
+                matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+            }
+            matcher.appendTail(result);
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.DriverPool;
+import com.mycare.qa.driver.LaunchProfile;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Drives many simulated users through page-object flows in real browsers. Each user is a virtual thread; browser
+ * sessions come from a capped pool, so users beyond the cap queue for a session the way real clients queue for
+ * a free device. Users start evenly over the ramp-up, loop their scenario through the hold phase, and leave
+ * evenly over the ramp-down.
+ */
+public class BrowserLoadRunner {
+    private static final Json JSON = new Json();
+
+    private final Config config;
+
+    public BrowserLoadRunner(Config config) {
+        this.config = config;
+    }
+
+    public Result run(Scenario scenario) {
+        DriverPool pool = DriverPool.create(config.maxBrowsers());
+        ActionLatencies latencies = new ActionLatencies();
+        AtomicLong iterations = new AtomicLong();
+        long rampUp = config.rampUp().toNanos();
+        long hold = config.hold().toNanos();
+        long rampDown = config.rampDown().toNanos();
+        long start = System.nanoTime();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                int user = i;
+                long startAt = start + rampUp * user / config.users();
+                long stopAt = start + rampUp + hold + rampDown * (user + 1) / config.users();
+                users.submit(() -> runUser(user, startAt, stopAt, pool, scenario, latencies, iterations));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Result(config, iterations.get(), elapsedSeconds, latencies.summarize(elapsedSeconds));
+    }
+
+    private void runUser(int user, long startAt, long stopAt, DriverPool pool, Scenario scenario,
+                         ActionLatencies latencies, AtomicLong iterations) {
+        int iteration = 0;
+        try {
+            sleepUntil(startAt);
+            while (System.nanoTime() < stopAt) {
+                WebDriver driver = latencies.time("sessionCheckout",
+                        () -> pool.checkout(config.profile(), config.appUrl()));
+                try {
+                    scenario.iteration(new Session(driver, user, iteration++, latencies));
+                    iterations.incrementAndGet();
+                } catch (Exception e) {
+                    latencies.error("iteration");
+                    System.err.println("User " + user + " iteration failed: " + e.getMessage());
+                } finally {
+                    pool.release(driver);
+                }
+                Thread.sleep(config.thinkTime().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("User " + user + " stopped: " + e.getMessage());
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(remaining));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scenario {
+        void iteration(Session session) throws Exception;
+    }
+
+    /**
+     * One scenario iteration for one user, on a freshly reset browser session.
+     */
+    public record Session(WebDriver driver, int user, int iteration, ActionLatencies latencies) {
+
+        public void time(String action, Runnable step) {
+            latencies.time(action, step);
+        }
+
+        public <T> T time(String action, Supplier<T> step) {
+            return latencies.time(action, step);
+        }
+    }
+
+    public record Config(int users, int maxBrowsers, Duration rampUp, Duration hold, Duration rampDown,
+                         Duration thinkTime, LaunchProfile profile, String appUrl) {
+
+        /**
+         * Reads load.browser.* settings from application-test.properties / system properties.
+         */
+        public static Config fromProperties(String appUrl) {
+            return new Config(
+                    TestProperties.getInt("load.browser.users", 10),
+                    TestProperties.getInt("load.browser.max.browsers", Runtime.getRuntime().availableProcessors()),
+                    Duration.ofSeconds(TestProperties.getLong("load.browser.ramp.up.seconds", 30)),
+                    Duration.ofSeconds(TestProperties.getLong("load.browser.hold.seconds", 120)),
+                    Duration.ofSeconds(TestProperties.getLong("load.browser.ramp.down.seconds", 15)),
+                    Duration.ofMillis(TestProperties.getLong("load.browser.think.ms", 500)),
+                    LaunchProfile.resolve(TestProperties.get("load.browser.browser", "chrome"),
+                            TestProperties.get("load.browser.profile", "ci")),
+                    appUrl);
+        }
+    }
+
+    public record Result(Config config, long iterations, double elapsedSeconds,
+                         Map<String, ActionLatencies.Summary> actions) {
+
+        public double maxErrorRatePct() {
+            return actions.values().stream().mapToDouble(ActionLatencies.Summary::errorRatePct).max().orElse(0);
+        }
+
+        public void print() {
+            System.out.printf("Browser load: %d users, %d browsers, %d iterations in %.1f s (%.2f it/s)%n",
+                    config.users(), config.maxBrowsers(), iterations, elapsedSeconds, iterations / elapsedSeconds);
+            System.out.printf("%-20s %8s %7s %10s %10s %10s %10s %9s%n",
+                    "action", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "ops/s");
+            for (ActionLatencies.Summary summary : actions.values()) {
+                System.out.printf("%-20s %8d %7d %10.0f %10.0f %10.0f %10.0f %9.2f%n",
+                        summary.action(), summary.count(), summary.errors(), summary.p50(), summary.p95(),
+                        summary.p99(), summary.max(), summary.throughputPerSecond());
+            }
+        }
+
+        public Path write(String fileName) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("users", config.users());
+            document.put("maxBrowsers", config.maxBrowsers());
+            document.put("profile", config.profile().key());
+            document.put("rampUpSeconds", config.rampUp().toSeconds());
+            document.put("holdSeconds", config.hold().toSeconds());
+            document.put("rampDownSeconds", config.rampDown().toSeconds());
+            document.put("iterations", iterations);
+            document.put("elapsedSeconds", elapsedSeconds);
+            document.put("actions", actions.values().stream().map(ActionLatencies.Summary::toMap).toList());
+            Path file = TestProperties.reportsDir().resolve(fileName);
+            try {
+                Files.writeString(file, JSON.toJson(document));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + file, e);
+            }
+            return file;
+        }
+    }
+}
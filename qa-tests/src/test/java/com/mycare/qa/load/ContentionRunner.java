@@ -0,0 +1,167 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+/**
+ * Fires bursts of concurrent API calls at one document (a wallet, a bulk order, a community) and collects the
+ * invariant checks the caller makes afterwards. Each call runs on its own virtual thread and all of them wait on
+ * a start latch, so they reach the server's read-modify-write together instead of trickling in.
+ */
+public class ContentionRunner {
+    private static final Json JSON = new Json();
+
+    private final ApiClient api = new ApiClient();
+    private final Config config;
+    private final List<Map<String, Object>> bursts = Collections.synchronizedList(new ArrayList<>());
+    private final List<Map<String, Object>> checks = Collections.synchronizedList(new ArrayList<>());
+
+    public ContentionRunner(Config config) {
+        this.config = config;
+    }
+
+    public Config config() {
+        return config;
+    }
+
+    /**
+     * Sends requests calls built by the factory, all released at once, and returns the responses by index.
+     * A call that fails without a response is recorded as status 0.
+     */
+    public Burst burst(String name, int requests, IntFunction<Call> factory) {
+        EndpointStats stats = new EndpointStats(name);
+        ApiClient.Response[] responses = new ApiClient.Response[requests];
+        CountDownLatch start = new CountDownLatch(1);
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long begin;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                Call call = factory.apply(i);
+                executor.submit(() -> {
+                    start.await();
+                    inFlight.acquire();
+                    long sent = System.nanoTime();
+                    ApiClient.Response response;
+                    try {
+                        response = call.body() == null
+                                ? api.get(call.path(), call.token())
+                                : api.post(call.path(), call.body(), call.token());
+                    } catch (RuntimeException e) {
+                        response = new ApiClient.Response(0, String.valueOf(e.getCause() != null ? e.getCause() : e));
+                    } finally {
+                        inFlight.release();
+                    }
+                    stats.record(sent, sent, System.nanoTime(), response.status() == 0 ? "error"
+                            : Integer.toString(response.status()), response.isSuccess());
+                    responses[index] = response;
+                    return null;
+                });
+            }
+            begin = System.nanoTime();
+            start.countDown();
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        bursts.add(stats.toMap(elapsedSeconds));
+        System.out.printf("%s: %d requests in %.2f s, %d succeeded%n", name, requests, elapsedSeconds,
+                requests - stats.getErrors());
+        return new Burst(name, List.of(responses), elapsedSeconds);
+    }
+
+    /**
+     * Records an invariant; the test fails on any that does not hold.
+     */
+    public boolean check(String scenario, String invariant, boolean holds, String detail) {
+        Map<String, Object> check = new LinkedHashMap<>();
+        check.put("scenario", scenario);
+        check.put("invariant", invariant);
+        check.put("holds", holds);
+        check.put("detail", detail);
+        checks.add(check);
+        System.out.println((holds ? "  ok    " : "  BROKEN ") + scenario + ": " + invariant + " (" + detail + ")");
+        return holds;
+    }
+
+    /**
+     * Lost updates are successful writes missing from the final state: expected minus actual, relative to the
+     * number of writes the server acknowledged.
+     */
+    public boolean checkLostUpdates(String scenario, long acknowledged, long expected, long actual) {
+        long lost = Math.max(0, expected - actual);
+        double ratePct = acknowledged == 0 ? 0 : lost * 100.0 / acknowledged;
+        return check(scenario, "lost-update rate <= " + config.maxLostUpdatePct() + "%",
+                ratePct <= config.maxLostUpdatePct(),
+                String.format(Locale.ROOT, "%d of %d acknowledged writes lost (%.2f%%), expected %d, found %d",
+                        lost, acknowledged, ratePct, expected, actual));
+    }
+
+    public List<String> violations() {
+        synchronized (checks) {
+            return checks.stream()
+                    .filter(check -> !(Boolean) check.get("holds"))
+                    .map(check -> check.get("scenario") + ": " + check.get("invariant") + " (" + check.get("detail") + ")")
+                    .toList();
+        }
+    }
+
+    public Path write(String fileName) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("requestsPerBurst", config.requests());
+        document.put("users", config.users());
+        document.put("maxInFlight", config.maxInFlight());
+        document.put("bursts", new ArrayList<>(bursts));
+        document.put("checks", new ArrayList<>(checks));
+        Path file = TestProperties.reportsDir().resolve(fileName);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, JSON.toJson(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+        return file;
+    }
+
+    /**
+     * A POST when body is non-null, otherwise a GET.
+     */
+    public record Call(String path, Object body, String token) {
+    }
+
+    public record Burst(String name, List<ApiClient.Response> responses, double elapsedSeconds) {
+
+        public long successes() {
+            return responses.stream().filter(ApiClient.Response::isSuccess).count();
+        }
+    }
+
+    public record Config(int requests, int users, int maxInFlight, double maxLostUpdatePct) {
+
+        /**
+         * Reads contention.* settings from application-test.properties / system properties.
+         */
+        public static Config fromProperties() {
+            return new Config(
+                    TestProperties.getInt("contention.requests", 2000),
+                    Math.max(2, TestProperties.getInt("contention.users", 20)),
+                    TestProperties.getInt("contention.max.in.flight", 500),
+                    Double.parseDouble(TestProperties.get("contention.max.lost.update.pct", "0")));
+        }
+    }
+}
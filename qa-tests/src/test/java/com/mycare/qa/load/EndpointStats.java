@@ -0,0 +1,101 @@
+package com.mycare.qa.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts for one endpoint in one load stage. Values are recorded in microseconds.
+ * Response time is measured from when the request was supposed to be sent under the arrival schedule, so time
+ * spent queued behind a slow server is not hidden (coordinated omission); service time is measured from when it
+ * was actually sent.
+ */
+public class EndpointStats {
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long intendedStartNanos, long sentNanos, long endNanos, String outcome, boolean success) {
+        responseTime.recordValue(Math.max(0, (endNanos - intendedStartNanos) / 1_000));
+        serviceTime.recordValue(Math.max(0, (endNanos - sentNanos) / 1_000));
+        (success ? successes : errors).increment();
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    public long getRequests() {
+        return successes.sum() + errors.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double errorRatePct() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : getErrors() * 100.0 / requests;
+    }
+
+    /**
+     * The most frequent non-2xx HTTP status when it makes up more than half of the requests, e.g. every login
+     * answering 401. Such an endpoint is failing for a reason other than load.
+     */
+    public Optional<String> dominantErrorStatus() {
+        long requests = getRequests();
+        return outcomes.entrySet().stream()
+                .filter(entry -> entry.getKey().matches("\\d{3}") && !entry.getKey().startsWith("2"))
+                .filter(entry -> entry.getValue().sum() * 2 > requests)
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    public Map<String, Object> toMap(double elapsedSeconds) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", name);
+        map.put("requests", getRequests());
+        map.put("errors", getErrors());
+        map.put("errorRatePct", errorRatePct());
+        map.put("throughputPerSecond", elapsedSeconds > 0 ? successes.sum() / elapsedSeconds : 0);
+        map.put("responseTimeMs", percentiles(responseTime));
+        map.put("serviceTimeMs", percentiles(serviceTime));
+        Map<String, Long> outcomeCounts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.sum()));
+        map.put("outcomes", outcomeCounts);
+        dominantErrorStatus().ifPresent(status -> map.put("dominantErrorStatus", status));
+        return map;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (histogram.getTotalCount() == 0) {
+            return map;
+        }
+        map.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        map.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        map.put("p95", histogram.getValueAtPercentile(95) / 1000.0);
+        map.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        map.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        map.put("max", histogram.getMaxValue() / 1000.0);
+        return map;
+    }
+}
@@ -0,0 +1,282 @@
+package com.mycare.qa.load;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.Cdp;
+import com.mycare.qa.perf.Stats;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Loops one page-object flow in a single long-lived session, the way the SPA stays open all day at a pharmacy
+ * counter, and watches for leaks. Every sample interval it forces a garbage collection and reads the JS heap,
+ * DOM node, event listener and document counts from CDP Performance.getMetrics; it also times every iteration.
+ * A metric leaks when its floor (the minimum within each of the run's windows) rises in every window and by more
+ * than soak.max.growth.pct overall. Latency drifts when the last window's iterations are significantly and
+ * noticeably slower than the first window's.
+ */
+public class SoakRunner {
+    private static final Json JSON = new Json();
+    static final List<String> METRICS = List.of("JSHeapUsedSize", "JSHeapTotalSize", "Nodes", "JSEventListeners",
+            "Documents");
+
+    private final WebDriver driver;
+    private final Config config;
+    private final DevTools devTools;
+    private volatile Writer snapshotWriter;
+    private volatile long lastChunkNanos;
+
+    public SoakRunner(WebDriver driver, Config config) {
+        this.driver = driver;
+        this.config = config;
+        this.devTools = Cdp.devTools(driver).orElse(null);
+        if (devTools != null) {
+            Cdp.send(devTools, "Performance.enable", Map.of());
+            Cdp.send(devTools, "HeapProfiler.enable", Map.of());
+            Cdp.on(devTools, "HeapProfiler.addHeapSnapshotChunk", event -> {
+                Writer writer = snapshotWriter;
+                if (writer != null) {
+                    try {
+                        writer.write(String.valueOf(event.get("chunk")));
+                    } catch (IOException e) {
+                        System.err.println("Failed to write heap snapshot chunk: " + e.getMessage());
+                    }
+                }
+                lastChunkNanos = System.nanoTime();
+            });
+        }
+    }
+
+    public Result run(Runnable flow) {
+        List<Map<String, Object>> samples = new ArrayList<>();
+        List<Double> latencies = new ArrayList<>(config.iterations());
+        long start = System.nanoTime();
+        int failures = 0;
+        for (int iteration = 1; iteration <= config.iterations(); iteration++) {
+            long iterationStart = System.nanoTime();
+            try {
+                flow.run();
+            } catch (RuntimeException e) {
+                failures++;
+                System.err.println("Soak iteration " + iteration + " failed: " + e.getMessage());
+                if (failures > config.maxFailures()) {
+                    throw new IllegalStateException("Soak stopped after " + failures + " failed iterations", e);
+                }
+                continue;
+            }
+            latencies.add((System.nanoTime() - iterationStart) / 1_000_000.0);
+
+            if (iteration % config.sampleEvery() == 0 || iteration == config.iterations()) {
+                Map<String, Object> sample = new LinkedHashMap<>();
+                sample.put("iteration", iteration);
+                sample.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+                sample.putAll(sample());
+                samples.add(sample);
+            }
+            if (config.heapSnapshotEvery() > 0 && iteration % config.heapSnapshotEvery() == 0) {
+                heapSnapshot(iteration);
+            }
+        }
+        return analyse(samples, latencies, failures, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    /**
+     * Metrics after a forced GC, so the floor reflects retained memory rather than garbage not yet collected.
+     * Without CDP only the DOM node count and Chrome's non-standard performance.memory are available.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> sample() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (devTools != null) {
+            Cdp.send(devTools, "HeapProfiler.collectGarbage", Map.of());
+            Map<String, Object> result = Cdp.send(devTools, "Performance.getMetrics", Map.of());
+            for (Object metric : (List<Object>) result.getOrDefault("metrics", List.of())) {
+                Map<String, Object> entry = (Map<String, Object>) metric;
+                if (METRICS.contains(String.valueOf(entry.get("name")))) {
+                    values.put(String.valueOf(entry.get("name")), entry.get("value"));
+                }
+            }
+            return values;
+        }
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                "return { heap: performance.memory ? performance.memory.usedJSHeapSize : null,"
+                        + " nodes: document.getElementsByTagName('*').length };");
+        values.put("JSHeapUsedSize", result.get("heap"));
+        values.put("Nodes", result.get("nodes"));
+        return values;
+    }
+
+    private void heapSnapshot(int iteration) {
+        if (devTools == null) {
+            return;
+        }
+        Path file = soakDir().resolve(config.flow() + "-heap-" + iteration + ".heapsnapshot.gz");
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)),
+                StandardCharsets.UTF_8)) {
+            snapshotWriter = writer;
+            lastChunkNanos = System.nanoTime();
+            Cdp.send(devTools, "HeapProfiler.takeHeapSnapshot", Map.of("reportProgress", false));
+            // Chunk events are dispatched on another thread and may trail the command's response
+            while (System.nanoTime() - lastChunkNanos < 500_000_000L) {
+                Thread.sleep(100);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            snapshotWriter = null;
+        }
+        System.out.println("Heap snapshot after iteration " + iteration + ": " + file);
+    }
+
+    private Result analyse(List<Map<String, Object>> samples, List<Double> latencies, int failures,
+                           double elapsedSeconds) {
+        List<String> problems = new ArrayList<>();
+        Map<String, Object> growth = new LinkedHashMap<>();
+        List<Map<String, Object>> measured = samples.stream()
+                .filter(sample -> ((Number) sample.get("iteration")).intValue() > config.warmupIterations())
+                .toList();
+        if (measured.size() < config.windows()) {
+            problems.add("Only " + measured.size() + " samples after warm-up, need at least " + config.windows()
+                    + " to judge growth");
+        } else {
+            for (String metric : METRICS) {
+                List<Double> values = measured.stream()
+                        .map(sample -> sample.get(metric))
+                        .filter(Number.class::isInstance)
+                        .map(value -> ((Number) value).doubleValue())
+                        .toList();
+                if (values.size() < config.windows()) {
+                    continue;
+                }
+                List<Double> floors = windows(values, window -> window.stream().mapToDouble(Double::doubleValue)
+                        .min().orElse(Double.NaN));
+                boolean rising = true;
+                for (int i = 1; i < floors.size(); i++) {
+                    rising &= floors.get(i) > floors.get(i - 1);
+                }
+                double first = floors.get(0);
+                double growthPct = first > 0 ? (floors.get(floors.size() - 1) - first) / first * 100 : 0;
+                growth.put(metric, Map.of("floors", floors, "growthPct", growthPct, "rising", rising));
+                if (rising && growthPct > config.maxGrowthPct()) {
+                    problems.add(String.format("%s grows monotonically: floor %.0f -> %.0f (+%.1f%%) over %d windows",
+                            metric, first, floors.get(floors.size() - 1), growthPct, floors.size()));
+                }
+            }
+        }
+
+        Map<String, Object> drift = new LinkedHashMap<>();
+        List<Double> measuredLatencies = latencies.subList(Math.min(latencies.size(), config.warmupIterations()),
+                latencies.size());
+        if (measuredLatencies.size() >= config.windows() * 2) {
+            List<List<Double>> parts = windows(measuredLatencies, window -> window);
+            List<Double> firstWindow = parts.get(0);
+            List<Double> lastWindow = parts.get(parts.size() - 1);
+            double firstMedian = Stats.median(firstWindow);
+            double lastMedian = Stats.median(lastWindow);
+            double driftPct = firstMedian > 0 ? (lastMedian - firstMedian) / firstMedian * 100 : 0;
+            double p = Stats.mannWhitneyGreaterP(lastWindow, firstWindow);
+            drift.put("firstMedianMs", firstMedian);
+            drift.put("lastMedianMs", lastMedian);
+            drift.put("driftPct", driftPct);
+            drift.put("pValue", p);
+            if (driftPct > config.maxLatencyDriftPct() && p < 0.01) {
+                problems.add(String.format("Iteration latency drifts: median %.0f ms -> %.0f ms (+%.1f%%, p=%.4f)",
+                        firstMedian, lastMedian, driftPct, p));
+            }
+        }
+        return new Result(config, latencies.size(), failures, elapsedSeconds, samples, growth, drift, problems);
+    }
+
+    /**
+     * Splits the values into config.windows() consecutive, nearly equal windows and maps each one.
+     */
+    private <T> List<T> windows(List<Double> values, Function<List<Double>, T> mapper) {
+        List<T> result = new ArrayList<>();
+        int count = config.windows();
+        for (int i = 0; i < count; i++) {
+            result.add(mapper.apply(values.subList(values.size() * i / count, values.size() * (i + 1) / count)));
+        }
+        return result;
+    }
+
+    private static Path soakDir() {
+        try {
+            return Files.createDirectories(TestProperties.reportsDir().resolve("soak"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create soak report directory", e);
+        }
+    }
+
+    public record Config(String flow, int iterations, int warmupIterations, int sampleEvery, int windows,
+                         double maxGrowthPct, double maxLatencyDriftPct, int heapSnapshotEvery, int maxFailures) {
+
+        /**
+         * Reads soak.* settings from application-test.properties / system properties.
+         */
+        public static Config fromProperties(String flow) {
+            return new Config(flow,
+                    TestProperties.getInt("soak.iterations", 2000),
+                    TestProperties.getInt("soak.warmup.iterations", 50),
+                    Math.max(1, TestProperties.getInt("soak.sample.every", 50)),
+                    Math.max(2, TestProperties.getInt("soak.windows", 4)),
+                    Double.parseDouble(TestProperties.get("soak.max.growth.pct", "10")),
+                    Double.parseDouble(TestProperties.get("soak.max.latency.drift.pct", "50")),
+                    TestProperties.getInt("soak.heap.snapshot.every", 0),
+                    TestProperties.getInt("soak.max.failures", 10));
+        }
+    }
+
+    public record Result(Config config, int iterations, int failures, double elapsedSeconds,
+                         List<Map<String, Object>> samples, Map<String, Object> growth, Map<String, Object> drift,
+                         List<String> problems) {
+
+        public void print() {
+            System.out.printf("Soak %s: %d iterations (%d failed) in %.0f s, %d samples%n",
+                    config.flow(), iterations, failures, elapsedSeconds, samples.size());
+            if (!samples.isEmpty()) {
+                System.out.println("  first sample: " + samples.get(0));
+                System.out.println("  last sample:  " + samples.get(samples.size() - 1));
+            }
+            problems.forEach(problem -> System.out.println("  LEAK: " + problem));
+        }
+
+        public Path write() {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("flow", config.flow());
+            document.put("iterations", iterations);
+            document.put("failures", failures);
+            document.put("elapsedSeconds", elapsedSeconds);
+            document.put("warmupIterations", config.warmupIterations());
+            document.put("sampleEvery", config.sampleEvery());
+            document.put("growth", growth);
+            document.put("latencyDrift", drift);
+            document.put("problems", problems);
+            document.put("samples", samples);
+            Path file = soakDir().resolve(config.flow() + ".json");
+            try {
+                Files.writeString(file, JSON.toJson(document));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + file, e);
+            }
+            return file;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycare.qa.matrix;
+
+import com.mycare.qa.config.TestProperties;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every &lt;test&gt; of the suite once per browser in one invocation when started with
+ * -Dmatrix.browsers=chrome,firefox,edge, and leaves the suite untouched otherwise. Each block is copied as
+ * "name [browser]" with the browser parameter set; the copies run side by side (parallel="tests") and each keeps
+ * the suite's method parallelism, while the per-browser session pools (matrix.&lt;browser&gt;.sessions, default the
+ * suite's thread-count) cap how many browsers of one type are open. Registered through the surefire listener
+ * property; the per-browser comparison is written when the suite finishes.
+ */
+public class BrowserMatrix implements IAlterSuiteListener, ISuiteListener {
+    public static final String SESSIONS_PARAMETER = "matrix.sessions";
+
+    public static boolean isEnabled() {
+        return !browsers().isEmpty();
+    }
+
+    public static List<String> browsers() {
+        return Arrays.stream(TestProperties.get("matrix.browsers", "").split(","))
+                .map(String::trim)
+                .filter(browser -> !browser.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Test name as used in reports and artifact paths, tagged with the browser in matrix runs so the same method
+     * on two browsers does not share files.
+     */
+    public static String label(String name, String browser) {
+        return isEnabled() && browser != null ? name + "[" + browser + "]" : name;
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<String> browsers = browsers();
+        if (browsers.isEmpty()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            int threads = suite.getParallel().isParallel() ? suite.getThreadCount() : 1;
+            List<XmlTest> originals = new ArrayList<>(suite.getTests());
+            suite.getTests().clear();
+            for (String browser : browsers) {
+                int sessions = TestProperties.getInt("matrix." + browser + ".sessions", threads);
+                for (XmlTest original : originals) {
+                    copy(suite, original, browser, sessions);
+                }
+            }
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(suite.getTests().size());
+            System.out.printf("Browser matrix: %d test blocks x %s%n", originals.size(), browsers);
+        }
+    }
+
+    private static void copy(XmlSuite suite, XmlTest original, String browser, int sessions) {
+        XmlTest test = new XmlTest(suite);
+        test.setName(original.getName() + " [" + browser + "]");
+        Map<String, String> parameters = new LinkedHashMap<>(original.getLocalParameters());
+        parameters.put("browser", browser);
+        parameters.put(SESSIONS_PARAMETER, Integer.toString(sessions));
+        test.setParameters(parameters);
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass originalClass : original.getXmlClasses()) {
+            XmlClass xmlClass = new XmlClass(originalClass.getName(), false);
+            List<XmlInclude> includes = new ArrayList<>();
+            originalClass.getIncludedMethods().forEach(include -> includes.add(new XmlInclude(include.getName())));
+            xmlClass.setIncludedMethods(includes);
+            xmlClass.setExcludedMethods(new ArrayList<>(originalClass.getExcludedMethods()));
+            classes.add(xmlClass);
+        }
+        test.setXmlClasses(classes);
+        test.setXmlPackages(original.getXmlPackages());
+        original.getIncludedGroups().forEach(test::addIncludedGroup);
+        original.getExcludedGroups().forEach(test::addExcludedGroup);
+        // Read before the suite switches to parallel="tests", so these are the block's own or the suite's settings
+        test.setParallel(original.getParallel());
+        test.setThreadCount(original.getThreadCount());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (isEnabled()) {
+            MatrixReport.build(suite).print().write();
+        }
+    }
+}
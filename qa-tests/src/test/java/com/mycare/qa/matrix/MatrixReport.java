@@ -0,0 +1,130 @@
+package com.mycare.qa.matrix;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-browser outcome and timing of a matrix run: wall time and summed test time per browser, every method's
+ * duration on each browser relative to the fastest one, and the run's wall time against an upper bound for running
+ * the browsers one after the other. The bound is the sum of the per-browser windows; those windows overlapped and
+ * slowed each other down, so a real sequential run would take no longer and probably less.
+ */
+public final class MatrixReport {
+    private static final Json JSON = new Json();
+
+    private final Map<String, Map<String, Object>> browsers = new TreeMap<>();
+    private final Map<String, Map<String, Object>> methods = new TreeMap<>();
+    private long wallMs;
+    private long sequentialUpperBoundMs;
+
+    private MatrixReport() {
+    }
+
+    static MatrixReport build(ISuite suite) {
+        MatrixReport report = new MatrixReport();
+        Map<String, long[]> windows = new TreeMap<>();
+        Map<String, Map<String, Long>> durations = new TreeMap<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            String browser = context.getCurrentXmlTest().getParameter("browser");
+            long start = context.getStartDate().getTime();
+            long end = context.getEndDate().getTime();
+            first = Math.min(first, start);
+            last = Math.max(last, end);
+            long[] window = windows.computeIfAbsent(browser, key -> new long[] {Long.MAX_VALUE, Long.MIN_VALUE});
+            window[0] = Math.min(window[0], start);
+            window[1] = Math.max(window[1], end);
+
+            Map<String, Object> totals = report.browsers.computeIfAbsent(browser, key -> {
+                Map<String, Object> counts = new LinkedHashMap<>();
+                counts.put("passed", 0);
+                counts.put("failed", 0);
+                counts.put("skipped", 0);
+                counts.put("testMs", 0L);
+                return counts;
+            });
+            count(totals, "passed", context.getPassedTests().getAllResults().size());
+            count(totals, "failed", context.getFailedTests().getAllResults().size());
+            count(totals, "skipped", context.getSkippedTests().getAllResults().size());
+            List<ITestResult> ran = new ArrayList<>(context.getPassedTests().getAllResults());
+            ran.addAll(context.getFailedTests().getAllResults());
+            for (ITestResult result : ran) {
+                long duration = Math.max(0, result.getEndMillis() - result.getStartMillis());
+                totals.merge("testMs", duration, (a, b) -> (Long) a + (Long) b);
+                String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+                durations.computeIfAbsent(name, key -> new TreeMap<>()).merge(browser, duration, Long::sum);
+            }
+        }
+        windows.forEach((browser, window) -> {
+            long ms = window[1] - window[0];
+            report.browsers.get(browser).put("wallMs", ms);
+            report.sequentialUpperBoundMs += ms;
+        });
+        report.wallMs = first == Long.MAX_VALUE ? 0 : last - first;
+
+        durations.forEach((method, byBrowser) -> {
+            long fastest = byBrowser.values().stream().mapToLong(Long::longValue).min().orElse(0);
+            Map<String, Object> row = new LinkedHashMap<>();
+            byBrowser.forEach((browser, ms) -> row.put(browser, Map.of("ms", ms,
+                    "vsFastest", fastest > 0 ? Math.round(ms * 100.0 / fastest) / 100.0 : 1.0)));
+            report.methods.put(method, row);
+        });
+        return report;
+    }
+
+    private static void count(Map<String, Object> totals, String key, int value) {
+        totals.merge(key, value, (a, b) -> (Integer) a + (Integer) b);
+    }
+
+    MatrixReport print() {
+        System.out.println("Browser matrix results:");
+        browsers.forEach((browser, totals) -> System.out.printf("  %-10s %3s passed %3s failed %3s skipped,"
+                        + " wall %6d ms, test time %7d ms%n", browser, totals.get("passed"), totals.get("failed"),
+                totals.get("skipped"), (Long) totals.get("wallMs"), (Long) totals.get("testMs")));
+        System.out.printf("  matrix wall time %d ms; the browsers one after another would take at most %d ms%n",
+                wallMs, sequentialUpperBoundMs);
+        methods.forEach((method, row) -> {
+            StringBuilder line = new StringBuilder(String.format("  %-45s", method));
+            row.forEach((browser, value) -> {
+                Map<?, ?> cell = (Map<?, ?>) value;
+                line.append(String.format(" %s %d ms (x%.2f)", browser, (Long) cell.get("ms"),
+                        (Double) cell.get("vsFastest")));
+            });
+            System.out.println(line);
+        });
+        return this;
+    }
+
+    Path write() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("wallMs", wallMs);
+        document.put("sequentialUpperBoundMs", sequentialUpperBoundMs);
+        document.put("browsers", browsers);
+        document.put("methods", methods);
+        Path file = TestProperties.reportsDir().resolve("matrix-report.json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, JSON.toJson(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+        System.out.println("Browser matrix report: " + file);
+        return file;
+    }
+}
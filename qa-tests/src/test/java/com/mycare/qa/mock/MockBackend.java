@@ -0,0 +1,280 @@
+package com.mycare.qa.mock;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.Cdp;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Embedded stand-in for the Express API, started once per JVM. It serves canned responses in the shapes
+ * src/services/api.ts expects (see {@link MockData}) plus whatever the current test programs into its
+ * {@link MockScope}.
+ *
+ * <p>The frontend has its API URL built in, so for Chromium sessions a script registered through CDP rewrites
+ * XHR and fetch calls to api.url onto this server before the app's own code runs, tagging each with the test's
+ * scope. Other browsers only reach the stub if the dev server was started with REACT_APP_API_URL pointing at it
+ * (fix the port with mock.port).
+ */
+public final class MockBackend {
+    static final String SCOPE_HEADER = "X-QA-Mock-Scope";
+    private static final Json JSON = new Json();
+    private static final String REWRITE_SCRIPT = """
+            (function (from, to, scope) {
+              function rewrite(url) {
+                url = String(url);
+                return url.indexOf(from) === 0 ? to + url.substring(from.length) : url;
+              }
+              var open = XMLHttpRequest.prototype.open;
+              XMLHttpRequest.prototype.open = function (method, url) {
+                var args = Array.prototype.slice.call(arguments);
+                args[1] = rewrite(url);
+                this.__qaMock = args[1] !== String(url);
+                return open.apply(this, args);
+              };
+              var send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                if (this.__qaMock) {
+                  this.setRequestHeader('%s', scope);
+                }
+                return send.apply(this, arguments);
+              };
+              var originalFetch = window.fetch;
+              window.fetch = function (input, init) {
+                if (typeof input === 'string' && input.indexOf(from) === 0) {
+                  init = Object.assign({}, init);
+                  init.headers = new Headers(init.headers || {});
+                  init.headers.set('%s', scope);
+                  return originalFetch.call(this, rewrite(input), init);
+                }
+                return originalFetch.apply(this, arguments);
+              };
+            })(%s, %s, %s);
+            """;
+
+    private static volatile MockBackend instance;
+
+    private final HttpServer server;
+    private final String baseUrl;
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, MockScope> scopes = new ConcurrentHashMap<>();
+    private final Map<WebDriver, String> attached = new ConcurrentHashMap<>();
+
+    private MockBackend(int port) {
+        // Without TCP_NODELAY small responses sit out the delayed-ACK timer, about 40 ms each
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start mock backend on port " + port, e);
+        }
+        server.createContext("/api", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api";
+        MockData.register(this);
+    }
+
+    public static MockBackend get() {
+        MockBackend backend = instance;
+        if (backend == null) {
+            synchronized (MockBackend.class) {
+                backend = instance;
+                if (backend == null) {
+                    backend = new MockBackend(TestProperties.getInt("mock.port", 0));
+                    Runtime.getRuntime().addShutdownHook(new Thread(backend::stop));
+                    System.out.println("Mock backend listening on " + backend.getBaseUrl());
+                    instance = backend;
+                }
+            }
+        }
+        return backend;
+    }
+
+    public static MockBackend current() {
+        return instance;
+    }
+
+    /**
+     * Whether tests of the class run against the stub, from mock.backend.mode (class, all or off) and
+     * {@link StubbedBackend}.
+     */
+    public static boolean appliesTo(Class<?> testClass) {
+        return switch (TestProperties.get("mock.backend.mode", "class").toLowerCase()) {
+            case "all" -> true;
+            case "off" -> false;
+            default -> testClass.isAnnotationPresent(StubbedBackend.class);
+        };
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Adds a canned route shared by all scopes. Routes are matched in the order they were added.
+     */
+    public void route(String method, String path, Function<MockRequest, MockResponse> handler) {
+        routes.add(new Route(method, path, handler));
+    }
+
+    public MockScope openScope(String id) {
+        MockScope scope = new MockScope(id);
+        scopes.put(id, scope);
+        return scope;
+    }
+
+    public void closeScope(MockScope scope) {
+        if (scope != null) {
+            scopes.remove(scope.getId());
+        }
+    }
+
+    /**
+     * Points the browser's API calls at this server for the given scope from the next page load on. Returns
+     * false if the browser has no CDP.
+     */
+    public boolean attach(WebDriver driver, MockScope scope) {
+        Optional<DevTools> devTools = Cdp.devTools(driver);
+        if (devTools.isEmpty()) {
+            System.err.println("Mock backend cannot redirect " + driver.getClass().getSimpleName()
+                    + "; start the app with REACT_APP_API_URL=" + baseUrl + " and a fixed mock.port");
+            return false;
+        }
+        String apiUrl = TestProperties.get("api.url", "http://localhost:5000/api");
+        String source = String.format(REWRITE_SCRIPT, SCOPE_HEADER, SCOPE_HEADER,
+                JSON.toJson(apiUrl), JSON.toJson(baseUrl), JSON.toJson(scope.getId()));
+        Cdp.send(devTools.get(), "Page.enable", Map.of());
+        Map<String, Object> result = Cdp.send(devTools.get(), "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", source));
+        attached.put(driver, (String) result.get("identifier"));
+        return true;
+    }
+
+    public void detach(WebDriver driver) {
+        String identifier = attached.remove(driver);
+        if (identifier == null) {
+            return;
+        }
+        Cdp.devTools(driver).ifPresent(devTools -> Cdp.send(devTools,
+                "Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier)));
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String origin = exchange.getRequestHeaders().getFirst("Origin");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", origin != null ? origin : "*");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Credentials", "true");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Headers",
+                    "Authorization, Content-Type, " + SCOPE_HEADER);
+            String method = exchange.getRequestMethod().toUpperCase();
+            if (method.equals("OPTIONS")) {
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath().substring("/api".length());
+            Map<String, String> headers = new HashMap<>();
+            exchange.getRequestHeaders().forEach((name, values) -> headers.put(name.toLowerCase(), values.get(0)));
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            MockScope scope = scopes.get(headers.getOrDefault(SCOPE_HEADER.toLowerCase(), ""));
+
+            MockResponse response = respond(scope, method, path, exchange.getRequestURI().getQuery(), headers, body);
+            Duration delay = scope != null ? scope.delayFor(method, path) : Duration.ZERO;
+            if (response.delay().compareTo(delay) > 0) {
+                delay = response.delay();
+            }
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+
+            byte[] bytes = response.body() == null ? new byte[0] : toJson(response.body());
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("Mock backend failed on " + exchange.getRequestURI() + ": " + e);
+            exchange.sendResponseHeaders(500, -1);
+        }
+    }
+
+    private static byte[] toJson(Object body) {
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(json)) {
+            out.setPrettyPrint(false).write(body);
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private MockResponse respond(MockScope scope, String method, String path, String query,
+                                 Map<String, String> headers, String body) {
+        List<List<Route>> tables = scope != null ? List.of(scope.overrides(), routes) : List.of(routes);
+        for (List<Route> table : tables) {
+            for (Route route : table) {
+                Map<String, String> params = route.match(method, path);
+                if (params != null) {
+                    MockRequest request = new MockRequest(method, path, params, query, headers, body);
+                    if (scope != null) {
+                        scope.record(request);
+                    }
+                    return route.handler().apply(request);
+                }
+            }
+        }
+        return MockResponse.error(404, "No mock route for " + method + " " + path);
+    }
+
+    record Route(String method, String path, Function<MockRequest, MockResponse> handler) {
+
+        /**
+         * Values of the :placeholders when the request matches, otherwise null.
+         */
+        Map<String, String> match(String requestMethod, String requestPath) {
+            if (!method.equalsIgnoreCase(requestMethod)) {
+                return null;
+            }
+            String[] expected = path.split("/");
+            String[] actual = requestPath.split("/");
+            if (expected.length != actual.length) {
+                return null;
+            }
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < expected.length; i++) {
+                if (expected[i].startsWith(":")) {
+                    params.put(expected[i].substring(1), actual[i]);
+                } else if (!expected[i].equals(actual[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.mycare.qa.mock;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.api.SessionFactory;
+import com.mycare.qa.data.Fixture;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Canned data and routes for the mock backend, mirroring the response shapes of server/routes: most endpoints
+ * answer { success, data }, bulk orders come back as a bare array and the wallet balance as { balance }.
+ * Writes are acknowledged but not stored, so every test sees the same data.
+ */
+public final class MockData {
+    public static final String TOKEN = "mock-token";
+    public static final String EMAIL = "mock.user@example.com";
+    public static final String PASSWORD = "MockUser123!";
+    public static final String USER_ID = "64b0000000000000000000a1";
+    public static final String COMMUNITY_ID = "64b0000000000000000000c1";
+    public static final String BULK_ORDER_ID = "64b0000000000000000000d1";
+    public static final double WALLET_BALANCE = 500;
+
+    private MockData() {
+    }
+
+    public static Map<String, Object> user() {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("_id", USER_ID);
+        user.put("name", "Mock User");
+        user.put("email", EMAIL);
+        user.put("phone", "9876543210");
+        user.put("address", "1 Mock Street");
+        user.put("country", "India");
+        user.put("pincode", "560001");
+        return user;
+    }
+
+    /**
+     * The canned user's session, for seeding into the browser without calling /auth/login.
+     */
+    public static SessionFactory.Session session() {
+        Map<String, Object> user = user();
+        return new SessionFactory.Session(TOKEN, ApiClient.toJson(user), user);
+    }
+
+    /**
+     * The canned user and its data in the shape of a seeded fixture.
+     */
+    public static Fixture fixture() {
+        List<String> productIds = products().stream().map(product -> (String) product.get("_id")).toList();
+        return new Fixture(EMAIL, session(), productIds, COMMUNITY_ID, BULK_ORDER_ID);
+    }
+
+    public static List<Map<String, Object>> products() {
+        List<Map<String, Object>> products = new ArrayList<>();
+        String[][] rows = {
+                {"64b0000000000000000000b1", "Metformin 500mg", "Diabetes", "120", "95", "10"},
+                {"64b0000000000000000000b2", "Atorvastatin 10mg", "Cardiology", "180", "150", "20"},
+                {"64b0000000000000000000b3", "Vitamin D3 1000IU", "Supplements", "90", "70", "15"}
+        };
+        for (String[] row : rows) {
+            Map<String, Object> product = new LinkedHashMap<>();
+            product.put("_id", row[0]);
+            product.put("productId", row[1].substring(0, 3).toUpperCase() + "-240101-" + row[0].substring(20));
+            product.put("name", row[1]);
+            product.put("description", row[1] + " supplied through the mock backend");
+            product.put("manufacturer", Map.of("_id", USER_ID, "name", "Mock User"));
+            product.put("regularPrice", Integer.parseInt(row[3]));
+            product.put("bulkPrice", Integer.parseInt(row[4]));
+            product.put("minOrderQuantity", Integer.parseInt(row[5]));
+            product.put("category", row[2]);
+            product.put("imageUrl", "");
+            product.put("createdAt", "2024-01-01T00:00:00.000Z");
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static Map<String, Object> community() {
+        Map<String, Object> member = Map.of("_id", USER_ID, "name", "Mock User");
+        Map<String, Object> community = new LinkedHashMap<>();
+        community.put("_id", COMMUNITY_ID);
+        community.put("communityId", "DIA2401011234");
+        community.put("name", "Diabetes Care Circle");
+        community.put("description", "People managing type 2 diabetes together");
+        community.put("healthConditions", List.of("Diabetes"));
+        community.put("relatedMedications", List.of(Map.of("_id", products().get(0).get("_id"), "name", "Metformin 500mg")));
+        community.put("locations", List.of("Bangalore"));
+        community.put("privacy", "public");
+        community.put("guidelines", "Be kind");
+        community.put("creator", member);
+        community.put("members", List.of(member));
+        community.put("linkedProducts", List.of());
+        community.put("createdAt", "2024-01-01T00:00:00.000Z");
+        return community;
+    }
+
+    public static Map<String, Object> bulkOrder() {
+        Map<String, Object> product = products().get(0);
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("_id", BULK_ORDER_ID);
+        order.put("products", List.of(Map.of("product", product, "targetQuantity", 50, "currentQuantity", 5)));
+        order.put("initiator", Map.of("_id", USER_ID, "name", "Mock User"));
+        order.put("community", Map.of("_id", COMMUNITY_ID, "name", "Diabetes Care Circle"));
+        order.put("participants", List.of(Map.of(
+                "user", Map.of("_id", USER_ID, "name", "Mock User"),
+                "quantities", List.of(Map.of("product", product.get("_id"), "quantity", 5)),
+                "joinedAt", "2024-01-01T00:00:00.000Z")));
+        order.put("status", "open");
+        order.put("expiresAt", null);
+        order.put("createdAt", "2024-01-01T00:00:00.000Z");
+        return order;
+    }
+
+    static void register(MockBackend backend) {
+        backend.route("GET", "/health", request -> MockResponse.ok(Map.of("status", "ok")));
+
+        backend.route("POST", "/auth/login", request -> {
+            Map<String, Object> body = request.json();
+            if (!EMAIL.equalsIgnoreCase(String.valueOf(body.get("email")))) {
+                return MockResponse.error(401, "No account found with this email. Please check your email or sign up for a new account.");
+            }
+            if (!PASSWORD.equals(body.get("password"))) {
+                return MockResponse.error(401, "Incorrect password. Please try again.");
+            }
+            return MockResponse.ok(Map.of("success", true, "token", TOKEN, "user", user()));
+        });
+        backend.route("POST", "/auth/register", request -> {
+            Map<String, Object> user = new LinkedHashMap<>(user());
+            user.put("id", user.remove("_id"));
+            user.putAll(request.json());
+            user.remove("password");
+            return MockResponse.created(Map.of("success", true, "token", TOKEN, "user", user));
+        });
+        backend.route("GET", "/auth/profile", authenticated(request -> success("user", user())));
+        backend.route("PUT", "/auth/profile", authenticated(request -> {
+            Map<String, Object> user = user();
+            request.json().forEach((key, value) -> {
+                if (user.containsKey(key)) {
+                    user.put(key, value);
+                }
+            });
+            return success("user", user);
+        }));
+        backend.route("DELETE", "/auth/delete-account", authenticated(request ->
+                MockResponse.ok(Map.of("success", true, "message", "Account deleted successfully"))));
+
+        backend.route("GET", "/products", request -> success("data", products()));
+        backend.route("GET", "/products/my-products", authenticated(request -> success("data", products())));
+        backend.route("GET", "/products/:id", request -> products().stream()
+                .filter(product -> product.get("_id").equals(request.param("id")))
+                .findFirst()
+                .map(product -> success("data", product))
+                .orElse(MockResponse.status(404, Map.of("success", false, "message", "Product not found"))));
+        backend.route("POST", "/products", authenticated(request -> MockResponse.created(Map.of(
+                "success", true, "message", "Product added successfully", "product", products().get(0)))));
+
+        backend.route("GET", "/communities", request -> success("data", List.of(community())));
+        backend.route("GET", "/communities/slug/:slug", request -> success("data", community()));
+        backend.route("GET", "/communities/:id/membership", authenticated(request ->
+                MockResponse.ok(Map.of("success", true, "isMember", true))));
+        backend.route("GET", "/communities/:id/join-request", authenticated(request -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", true);
+            body.put("data", null);
+            return MockResponse.ok(body);
+        }));
+        backend.route("POST", "/communities/:id/join", authenticated(request -> MockResponse.ok(Map.of(
+                "success", true, "message", "Successfully joined the community", "community", community()))));
+        backend.route("POST", "/communities/:id/leave", authenticated(request -> MockResponse.ok(Map.of(
+                "success", true, "message", "Successfully left community", "community", community()))));
+        backend.route("GET", "/communities/:id", request -> COMMUNITY_ID.equals(request.param("id"))
+                ? success("data", community())
+                : MockResponse.status(404, Map.of("success", false, "message", "Community not found")));
+
+        backend.route("GET", "/bulk-orders", request -> MockResponse.ok(List.of(bulkOrder())));
+        backend.route("POST", "/bulk-orders", authenticated(request -> MockResponse.created(Map.of(
+                "message", "Bulk order created successfully", "bulkOrder", bulkOrder()))));
+        backend.route("POST", "/bulk-orders/:id/join", authenticated(request -> MockResponse.ok(Map.of(
+                "message", "Successfully joined bulk order", "bulkOrder", bulkOrder()))));
+
+        backend.route("GET", "/orders", authenticated(request -> success("data", List.of())));
+
+        backend.route("GET", "/wallet/balance", authenticated(request ->
+                MockResponse.ok(Map.of("balance", WALLET_BALANCE))));
+        backend.route("POST", "/wallet/add", authenticated(request -> {
+            double amount = amount(request);
+            if (amount <= 0) {
+                return MockResponse.error(400, "Amount must be greater than 0");
+            }
+            return success("data", Map.of("newBalance", WALLET_BALANCE + amount, "transaction", "mock-transaction"));
+        }));
+        backend.route("POST", "/wallet/withdraw", authenticated(request -> {
+            double amount = amount(request);
+            if (amount <= 0 || amount > WALLET_BALANCE) {
+                return MockResponse.error(400, amount <= 0 ? "Amount must be greater than 0" : "Insufficient balance");
+            }
+            return MockResponse.ok(Map.of("success", true, "message", "Money withdrawn successfully",
+                    "newBalance", WALLET_BALANCE - amount));
+        }));
+        backend.route("GET", "/wallet/transactions", authenticated(request -> MockResponse.ok(Map.of(
+                "transactions", List.of(), "pagination", Map.of("total", 0, "page", 1, "pages", 0)))));
+    }
+
+    private static MockResponse success(String key, Object value) {
+        return MockResponse.ok(Map.of("success", true, key, value));
+    }
+
+    private static double amount(MockRequest request) {
+        Object amount = request.json().get("amount");
+        return amount instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static Function<MockRequest, MockResponse> authenticated(Function<MockRequest, MockResponse> handler) {
+        return request -> request.isAuthenticated() ? handler.apply(request)
+                : MockResponse.error(401, "Please authenticate");
+    }
+}
@@ -0,0 +1,31 @@
+package com.mycare.qa.mock;
+
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+
+/**
+ * A request as the mock backend received it, with the :placeholders of the matched route resolved.
+ */
+public record MockRequest(String method, String path, Map<String, String> params, String query,
+                          Map<String, String> headers, String body) {
+    private static final Json JSON = new Json();
+
+    public String param(String name) {
+        return params.get(name);
+    }
+
+    public String header(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    public boolean isAuthenticated() {
+        String authorization = header("Authorization");
+        return authorization != null && authorization.startsWith("Bearer ") && authorization.length() > 7;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> json() {
+        return body == null || body.isBlank() ? Map.of() : JSON.toType(body, Map.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycare.qa.mock;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Status, JSON body and optional artificial latency of a stubbed response.
+ */
+public record MockResponse(int status, Object body, Duration delay) {
+
+    public static MockResponse ok(Object body) {
+        return new MockResponse(200, body, Duration.ZERO);
+    }
+
+    public static MockResponse created(Object body) {
+        return new MockResponse(201, body, Duration.ZERO);
+    }
+
+    public static MockResponse status(int status, Object body) {
+        return new MockResponse(status, body, Duration.ZERO);
+    }
+
+    /**
+     * Error in the { success: false, error } shape the routes use.
+     */
+    public static MockResponse error(int status, String message) {
+        return new MockResponse(status, Map.of("success", false, "error", message), Duration.ZERO);
+    }
+
+    public MockResponse withDelay(Duration delay) {
+        return new MockResponse(status, body, delay);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycare.qa.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Responses programmed by one test. Requests from that test's browser carry the scope id, so overrides never
+ * leak into tests running in parallel; anything not overridden falls through to the canned routes.
+ */
+public final class MockScope {
+    private final String id;
+    private final List<MockBackend.Route> overrides = new CopyOnWriteArrayList<>();
+    private final List<Delay> delays = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<MockRequest> received = new ConcurrentLinkedQueue<>();
+
+    MockScope(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Answers matching requests with the handler; paths use the route syntax, e.g. /communities/:id.
+     */
+    public MockScope on(String method, String path, Function<MockRequest, MockResponse> handler) {
+        overrides.add(0, new MockBackend.Route(method, path, handler));
+        return this;
+    }
+
+    public MockScope respond(String method, String path, int status, Object body) {
+        return on(method, path, request -> MockResponse.status(status, body));
+    }
+
+    public MockScope fail(String method, String path, int status) {
+        return on(method, path, request -> MockResponse.error(status, "Injected failure from the mock backend"));
+    }
+
+    /**
+     * Adds latency to matching requests, whether they are answered by an override or a canned route.
+     */
+    public MockScope delay(String method, String path, Duration delay) {
+        delays.add(0, new Delay(new MockBackend.Route(method, path, null), delay));
+        return this;
+    }
+
+    public List<MockRequest> requests() {
+        return new ArrayList<>(received);
+    }
+
+    public void clear() {
+        overrides.clear();
+        delays.clear();
+        received.clear();
+    }
+
+    List<MockBackend.Route> overrides() {
+        return overrides;
+    }
+
+    Duration delayFor(String method, String path) {
+        for (Delay rule : delays) {
+            if (rule.route().match(method, path) != null) {
+                return rule.delay();
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    void record(MockRequest request) {
+        received.add(request);
+    }
+
+    private record Delay(MockBackend.Route route, Duration delay) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycare.qa.mock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs every test of the class against the in-process {@link MockBackend} instead of the Express API.
+ * mock.backend.mode=all applies it to every class, mock.backend.mode=off ignores it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface StubbedBackend {
+}
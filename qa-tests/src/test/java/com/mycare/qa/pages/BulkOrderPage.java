@@ -0,0 +1,78 @@
+package com.mycare.qa.pages;
+
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.support.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.List;
+
+public class BulkOrderPage {
+    private static final By PAYMENT_CHOICE = By.xpath("//h2[normalize-space()='Choose Payment Method']");
+    private static final By FORM_ERROR = By.cssSelector("main div.bg-red-100");
+
+    private final WebDriver driver;
+    private final WaitEngine wait;
+
+    @FindBy(css = "main input[type='number']")
+    private List<WebElement> quantityInputs;
+
+    @FindBy(xpath = "//main//button[normalize-space()='Create Order' or normalize-space()='Creating Order...']")
+    private WebElement createOrderButton;
+
+    @FindBy(xpath = "//main//button[normalize-space()='Cancel']")
+    private WebElement cancelButton;
+
+    public BulkOrderPage(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new WaitEngine(driver);
+        PageFactory.initElements(driver, this);
+    }
+
+    public void waitUntilLoaded() {
+        wait.until(ExpectedConditions.visibilityOf(createOrderButton));
+    }
+
+    public int getProductCount() {
+        return quantityInputs.size();
+    }
+
+    public void setQuantity(int index, int quantity) {
+        WebElement input = wait.until(ExpectedConditions.visibilityOf(quantityInputs.get(index)));
+        input.sendKeys(Keys.chord(Keys.CONTROL, "a"), String.valueOf(quantity));
+    }
+
+    /**
+     * Submits the order and waits for the form's outcome: the payment choice, or an error message, which fails.
+     * The interim "Creating Order..." label is not waited on, since it may not have rendered yet right after the
+     * click.
+     */
+    public void submitOrder() {
+        String previousError = driver.findElements(FORM_ERROR).stream().findFirst().map(WebElement::getText).orElse(null);
+        PerfRecorder.measure("submitBulkOrder", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(createOrderButton)).click();
+            wait.until(d -> !d.findElements(PAYMENT_CHOICE).isEmpty() || newError(d, previousError) != null);
+        });
+        String error = newError(driver, previousError);
+        if (error != null && driver.findElements(PAYMENT_CHOICE).isEmpty()) {
+            throw new IllegalStateException("Bulk order was not accepted: " + error);
+        }
+    }
+
+    private static String newError(WebDriver driver, String previousError) {
+        return driver.findElements(FORM_ERROR).stream()
+                .map(WebElement::getText)
+                .filter(text -> !text.equals(previousError))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public void cancel() {
+        wait.until(ExpectedConditions.elementToBeClickable(cancelButton)).click();
+    }
+}
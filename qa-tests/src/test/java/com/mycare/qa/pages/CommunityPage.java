@@ -0,0 +1,99 @@
+package com.mycare.qa.pages;
+
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.support.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+public class CommunityPage {
+    private final WebDriver driver;
+    private final WaitEngine wait;
+
+    @FindBy(css = ".community-header h1")
+    private WebElement communityName;
+
+    @FindBy(css = "button.join-button")
+    private WebElement joinButton;
+
+    @FindBy(css = "button.leave-button")
+    private WebElement leaveButton;
+
+    @FindBy(css = "button.cancel-request-button")
+    private WebElement cancelRequestButton;
+
+    @FindBy(xpath = "//div[contains(@class, 'community-footer')]//button[normalize-space()='Place Order']")
+    private WebElement placeOrderButton;
+
+    public CommunityPage(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new WaitEngine(driver);
+        PageFactory.initElements(driver, this);
+    }
+
+    /**
+     * Opens /communities/{slug} directly and waits for the community to render.
+     */
+    public void open(String appUrl, String slug) {
+        PerfRecorder.measure("openCommunity", () -> {
+            driver.get(appUrl + "/communities/" + slug);
+            wait.until(ExpectedConditions.visibilityOf(communityName));
+        });
+    }
+
+    public String getCommunityName() {
+        return wait.until(ExpectedConditions.visibilityOf(communityName)).getText();
+    }
+
+    /**
+     * Whether the user belongs to the community, once the page's membership check has answered; until then the
+     * header briefly offers Join to everyone. The creator gets Edit/Delete instead of Leave, and counts as a member.
+     */
+    public boolean isMember() {
+        wait.appIdle();
+        return showsMemberControls();
+    }
+
+    public boolean hasPendingJoinRequest() {
+        wait.appIdle();
+        return showsPendingRequest();
+    }
+
+    public void clickJoinButton() {
+        PerfRecorder.measure("joinCommunity", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(joinButton)).click();
+            wait.until(d -> showsMemberControls() || showsPendingRequest());
+        });
+    }
+
+    public void clickLeaveButton() {
+        wait.until(ExpectedConditions.elementToBeClickable(leaveButton)).click();
+    }
+
+    public void clickCancelRequestButton() {
+        wait.until(ExpectedConditions.elementToBeClickable(cancelRequestButton)).click();
+    }
+
+    /**
+     * Members only: opens the community bulk order form.
+     */
+    public BulkOrderPage openPlaceOrder() {
+        BulkOrderPage bulkOrderPage = new BulkOrderPage(driver);
+        PerfRecorder.measure("openBulkOrder", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(placeOrderButton)).click();
+            bulkOrderPage.waitUntilLoaded();
+        });
+        return bulkOrderPage;
+    }
+
+    private boolean showsMemberControls() {
+        return !driver.findElements(By.cssSelector("button.leave-button, button.delete-btn")).isEmpty();
+    }
+
+    private boolean showsPendingRequest() {
+        return !driver.findElements(By.cssSelector("button.cancel-request-button")).isEmpty();
+    }
+}
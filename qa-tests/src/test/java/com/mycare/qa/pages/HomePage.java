@@ -1,17 +1,26 @@
 package com.mycare.qa.pages;
 
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.support.ElementQuery;
+import com.mycare.qa.support.ElementSnapshot;
+import com.mycare.qa.support.WaitEngine;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.List;
 
 public class HomePage {
+    public static final List<String> LOGIN_MODAL = List.of(
+            "email-input", "password-input", "submit-button", "close-modal-button");
+    public static final List<String> SIGNUP_MODAL = List.of(
+            "email-input", "password-input", "confirm-password-input", "submit-button", "close-modal-button");
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final WaitEngine wait;
+    private final ElementQuery query;
 
     @FindBy(css = "button[data-testid='login-button']")
     private WebElement loginButton;
@@ -19,15 +28,6 @@ public class HomePage {
     @FindBy(css = "button[data-testid='signup-button']")
     private WebElement signupButton;
 
-    @FindBy(css = "input[data-testid='email-input']")
-    private WebElement emailInput;
-
-    @FindBy(css = "input[data-testid='password-input']")
-    private WebElement passwordInput;
-
-    @FindBy(css = "input[data-testid='confirm-password-input']")
-    private WebElement confirmPasswordInput;
-
     @FindBy(css = "button[data-testid='submit-button']")
     private WebElement submitButton;
 
@@ -51,28 +51,46 @@ public class HomePage {
 
     public HomePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+        this.query = new ElementQuery(driver, wait);
         PageFactory.initElements(driver, this);
     }
 
+    /**
+     * State of every login modal element, read in one round trip once they are all present.
+     */
+    public ElementSnapshot awaitLoginModal() {
+        return query.awaitPresent(LOGIN_MODAL);
+    }
+
+    public ElementSnapshot awaitSignupModal() {
+        return query.awaitPresent(SIGNUP_MODAL);
+    }
+
     public void clickLoginButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
+        PerfRecorder.measure("openLoginModal", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
+            query.element("email-input");
+        });
     }
 
     public void clickSignupButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(signupButton)).click();
+        PerfRecorder.measure("openSignupModal", () -> {
+            wait.until(ExpectedConditions.elementToBeClickable(signupButton)).click();
+            query.element("email-input");
+        });
     }
 
     public void enterEmail(String email) {
-        wait.until(ExpectedConditions.visibilityOf(emailInput)).sendKeys(email);
+        query.act("email-input", input -> input.sendKeys(email));
     }
 
     public void enterPassword(String password) {
-        wait.until(ExpectedConditions.visibilityOf(passwordInput)).sendKeys(password);
+        query.act("password-input", input -> input.sendKeys(password));
     }
 
     public void enterConfirmPassword(String password) {
-        wait.until(ExpectedConditions.visibilityOf(confirmPasswordInput)).sendKeys(password);
+        query.act("confirm-password-input", input -> input.sendKeys(password));
     }
 
     public void clickSubmitButton() {
@@ -111,7 +129,14 @@ public class HomePage {
         clickLoginButton();
         enterEmail(email);
         enterPassword(password);
-        clickSubmitButton();
+        // Round trip ends when the modal closes or the form reports a result
+        PerfRecorder.measure("loginSubmit", () -> {
+            clickSubmitButton();
+            wait.until(ExpectedConditions.or(
+                    ExpectedConditions.invisibilityOf(submitButton),
+                    ExpectedConditions.visibilityOf(errorMessage),
+                    ExpectedConditions.visibilityOf(successMessage)));
+        });
     }
 
     public void signup(String email, String password) {
@@ -1,17 +1,25 @@
 package com.mycare.qa.pages;
 
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.support.ElementQuery;
+import com.mycare.qa.support.ElementSnapshot;
+import com.mycare.qa.support.WaitEngine;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.List;
 
 public class NavigationPage {
+    public static final List<String> NAVIGATION_LINKS = List.of(
+            "home-link", "services-link", "about-link", "contact-link");
+    public static final List<String> USER_MENU_ITEMS = List.of("profile-link", "logout-button");
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final WaitEngine wait;
+    private final ElementQuery query;
 
     @FindBy(css = "a[data-testid='home-link']")
     private WebElement homeLink;
@@ -39,10 +47,19 @@ public class NavigationPage {
 
     public NavigationPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+        this.query = new ElementQuery(driver, wait);
         PageFactory.initElements(driver, this);
     }
 
+    public ElementSnapshot awaitNavigationLinks() {
+        return query.awaitPresent(NAVIGATION_LINKS);
+    }
+
+    public ElementSnapshot awaitUserMenuItems() {
+        return query.awaitPresent(USER_MENU_ITEMS);
+    }
+
     public void clickHomeLink() {
         wait.until(ExpectedConditions.elementToBeClickable(homeLink)).click();
     }
@@ -75,6 +92,14 @@ public class NavigationPage {
         return wait.until(ExpectedConditions.visibilityOf(pageTitle)).getText();
     }
 
+    /**
+     * The title renders before the route's data arrives, so wait for the app to settle first.
+     */
+    private void waitForPageTitle() {
+        wait.appIdle();
+        wait.until(ExpectedConditions.visibilityOf(pageTitle));
+    }
+
     public boolean isUserMenuVisible() {
         try {
             return userMenu.isDisplayed();
@@ -84,24 +109,39 @@ public class NavigationPage {
     }
 
     public void navigateToHome() {
-        clickHomeLink();
+        PerfRecorder.measure("navigateToHome", () -> {
+            clickHomeLink();
+            waitForPageTitle();
+        });
     }
 
     public void navigateToServices() {
-        clickServicesLink();
+        PerfRecorder.measure("navigateToServices", () -> {
+            clickServicesLink();
+            waitForPageTitle();
+        });
     }
 
     public void navigateToAbout() {
-        clickAboutLink();
+        PerfRecorder.measure("navigateToAbout", () -> {
+            clickAboutLink();
+            waitForPageTitle();
+        });
     }
 
     public void navigateToContact() {
-        clickContactLink();
+        PerfRecorder.measure("navigateToContact", () -> {
+            clickContactLink();
+            waitForPageTitle();
+        });
     }
 
     public void navigateToProfile() {
         openUserMenu();
-        clickProfileLink();
+        PerfRecorder.measure("navigateToProfile", () -> {
+            clickProfileLink();
+            waitForPageTitle();
+        });
     }
 
     public void logout() {
@@ -0,0 +1,117 @@
+package com.mycare.qa.perf;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Compares this run's perf samples against the samples stored from an earlier run. A metric is flagged when its
+ * median slowed down by at least perf.baseline.min.slowdown.pct and a one-sided Mann-Whitney U test says the
+ * slowdown is significant at perf.baseline.alpha. Every run writes its own samples to perf-baseline.json in the
+ * reports directory, which can be copied over the stored baseline to accept a new level.
+ */
+public final class PerfBaseline {
+    private static final Json JSON = new Json();
+    private static final Map<String, ConcurrentLinkedQueue<Double>> SAMPLES = new ConcurrentHashMap<>();
+
+    private PerfBaseline() {
+    }
+
+    public static void collect(List<PerfMetric> metrics) {
+        List<String> compared = comparedMetrics();
+        for (PerfMetric metric : metrics) {
+            for (String name : compared) {
+                Double value = metric.value(name);
+                if (value != null) {
+                    SAMPLES.computeIfAbsent(metric.label() + "." + name, key -> new ConcurrentLinkedQueue<>()).add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes this run's samples and returns the regressions found against the stored baseline, if there is one.
+     */
+    public static List<String> compare() {
+        Map<String, List<Double>> current = new TreeMap<>();
+        SAMPLES.forEach((key, values) -> current.put(key, new ArrayList<>(values)));
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        write(TestProperties.reportsDir().resolve("perf-baseline.json"), current);
+
+        Path baselineFile = Paths.get(TestProperties.get("perf.baseline.file", "perf-baseline.json"));
+        if (Files.notExists(baselineFile)) {
+            System.out.println("No perf baseline at " + baselineFile.toAbsolutePath() + ", skipping comparison");
+            return List.of();
+        }
+        Map<String, List<Double>> baseline = read(baselineFile);
+
+        int minSamples = TestProperties.getInt("perf.baseline.min.samples", 5);
+        double alpha = Double.parseDouble(TestProperties.get("perf.baseline.alpha", "0.05"));
+        double minSlowdown = Double.parseDouble(TestProperties.get("perf.baseline.min.slowdown.pct", "10"));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> entry : current.entrySet()) {
+            List<Double> before = baseline.get(entry.getKey());
+            List<Double> now = entry.getValue();
+            if (before == null || before.size() < minSamples || now.size() < minSamples) {
+                continue;
+            }
+            double baselineMedian = Stats.median(before);
+            double currentMedian = Stats.median(now);
+            double slowdownPct = baselineMedian > 0 ? (currentMedian - baselineMedian) * 100 / baselineMedian : 0;
+            double p = Stats.mannWhitneyGreaterP(now, before);
+            if (slowdownPct >= minSlowdown && p < alpha) {
+                regressions.add(String.format("%s median %.0f -> %.0f (+%.1f%%, p=%.4f, n=%d vs %d)",
+                        entry.getKey(), baselineMedian, currentMedian, slowdownPct, p, now.size(), before.size()));
+            }
+        }
+        return regressions;
+    }
+
+    private static List<String> comparedMetrics() {
+        return Arrays.stream(TestProperties.get("perf.baseline.metrics", "duration,ttfb,fcp,lcp").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    private static void write(Path file, Map<String, List<Double>> samples) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("samples", samples);
+        try {
+            Files.writeString(file, JSON.toJson(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<Double>> read(Path file) {
+        try {
+            Map<String, Object> document = JSON.toType(Files.readString(file), Map.class);
+            Map<String, List<Double>> samples = new TreeMap<>();
+            Map<String, Object> stored = (Map<String, Object>) document.getOrDefault("samples", Map.of());
+            stored.forEach((key, values) -> samples.put(key, ((List<Object>) values).stream()
+                    .map(value -> ((Number) value).doubleValue())
+                    .toList()));
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read perf baseline " + file, e);
+        }
+    }
+}
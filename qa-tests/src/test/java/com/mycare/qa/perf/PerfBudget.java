@@ -0,0 +1,38 @@
+package com.mycare.qa.perf;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a performance budget for a labelled measurement taken during a test method, e.g.
+ * {@code @PerfBudget(label = "initialLoad", metric = "lcp", max = 1500)}. The median of the test's samples for
+ * the label is compared against {@code max} (milliseconds for timings, a count for requests/bytes).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(PerfBudget.List.class)
+public @interface PerfBudget {
+
+    String label();
+
+    /**
+     * One of duration, ttfb, dcl, load, fcp, lcp, requests, bytes.
+     */
+    String metric() default "duration";
+
+    double max();
+
+    /**
+     * Report the overrun without failing the test.
+     */
+    boolean warnOnly() default false;
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface List {
+        PerfBudget[] value();
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycare.qa.perf;
+
+import com.mycare.qa.config.TestProperties;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks the metrics a test recorded against its budgets once the test method has finished, while its recorder
+ * is still active. Budgets come from {@link PerfBudget} on the method, which fail the test unless warnOnly, and
+ * from perf.budget.&lt;label&gt;.&lt;metric&gt; properties, which apply to every test that records the label and are
+ * only reported unless perf.budget.mode=fail. Functional tests all record initialLoad, so a shared budget must not
+ * fail them by default.
+ */
+public class PerfBudgetListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        PerfRecorder.current().ifPresent(recorder -> check(recorder.getMetrics(),
+                method.getTestMethod().getConstructorOrMethod().getMethod(), result));
+    }
+
+    private void check(List<PerfMetric> metrics, Method method, ITestResult result) {
+        List<String> failures = new ArrayList<>();
+        for (Budget budget : budgets(method)) {
+            List<Double> samples = metrics.stream()
+                    .filter(metric -> metric.label().equals(budget.label()))
+                    .map(metric -> metric.value(budget.metric()))
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (samples.isEmpty()) {
+                continue;
+            }
+            double median = Stats.median(samples);
+            if (median <= budget.max()) {
+                continue;
+            }
+            String message = String.format("%s %s = %.0f exceeds budget %.0f (%d sample(s), %s)",
+                    budget.label(), budget.metric(), median, budget.max(), samples.size(), budget.source());
+            if (!budget.enforced()) {
+                System.err.println("Performance budget warning in " + result.getName() + ": " + message);
+                Reporter.log("Performance budget warning: " + message);
+            } else {
+                failures.add(message);
+            }
+        }
+        if (!failures.isEmpty()) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", failures)));
+        }
+    }
+
+    private List<Budget> budgets(Method method) {
+        List<Budget> budgets = new ArrayList<>();
+        for (PerfBudget annotation : method.getAnnotationsByType(PerfBudget.class)) {
+            budgets.add(new Budget(annotation.label(), annotation.metric(), annotation.max(), !annotation.warnOnly(),
+                    "@PerfBudget"));
+        }
+        boolean enforceProperties = TestProperties.get("perf.budget.mode", "warn").equalsIgnoreCase("fail");
+        for (Map.Entry<String, String> entry : TestProperties.withPrefix("perf.budget.").entrySet()) {
+            // Keys look like perf.budget.<label>.<metric>; perf.budget.mode is the only non-budget key
+            int dot = entry.getKey().lastIndexOf('.');
+            if (dot < 0) {
+                continue;
+            }
+            String label = entry.getKey().substring(0, dot);
+            String metric = entry.getKey().substring(dot + 1);
+            boolean overridden = budgets.stream()
+                    .anyMatch(budget -> budget.label().equals(label) && budget.metric().equalsIgnoreCase(metric));
+            if (!overridden) {
+                budgets.add(new Budget(label, metric, Double.parseDouble(entry.getValue()), enforceProperties,
+                        "perf.budget." + entry.getKey()));
+            }
+        }
+        return budgets;
+    }
+
+    private record Budget(String label, String metric, double max, boolean enforced, String source) {
+    }
+}
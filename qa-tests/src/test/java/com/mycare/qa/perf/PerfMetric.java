@@ -0,0 +1,73 @@
+package com.mycare.qa.perf;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Timings for one measured navigation or interaction. Browser timings are null when the browser does not
+ * report them; requests/bytes come from CDP on Chromium and from Resource Timing elsewhere.
+ */
+public record PerfMetric(
+        String test,
+        String label,
+        String kind,
+        String url,
+        long durationMs,
+        Double ttfbMs,
+        Double domContentLoadedMs,
+        Double loadMs,
+        Double fcpMs,
+        Double lcpMs,
+        long requests,
+        long bytes,
+        String networkSource) {
+
+    public static final String CSV_HEADER =
+            "test,label,kind,url,durationMs,ttfbMs,domContentLoadedMs,loadMs,fcpMs,lcpMs,requests,bytes,networkSource";
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("test", test);
+        map.put("label", label);
+        map.put("kind", kind);
+        map.put("url", url);
+        map.put("durationMs", durationMs);
+        map.put("ttfbMs", ttfbMs);
+        map.put("domContentLoadedMs", domContentLoadedMs);
+        map.put("loadMs", loadMs);
+        map.put("fcpMs", fcpMs);
+        map.put("lcpMs", lcpMs);
+        map.put("requests", requests);
+        map.put("bytes", bytes);
+        map.put("networkSource", networkSource);
+        return map;
+    }
+
+    public String toCsv() {
+        return String.join(",", test, label, kind, '"' + url.replace("\"", "\"\"") + '"',
+                String.valueOf(durationMs), csv(ttfbMs), csv(domContentLoadedMs), csv(loadMs), csv(fcpMs),
+                csv(lcpMs), String.valueOf(requests), String.valueOf(bytes), networkSource);
+    }
+
+    /**
+     * Looks up a metric by the short names used in budgets and baselines, e.g. "lcp" or "duration".
+     */
+    public Double value(String metric) {
+        return switch (metric.toLowerCase()) {
+            case "duration" -> (double) durationMs;
+            case "ttfb" -> ttfbMs;
+            case "dcl" -> domContentLoadedMs;
+            case "load" -> loadMs;
+            case "fcp" -> fcpMs;
+            case "lcp" -> lcpMs;
+            case "requests" -> (double) requests;
+            case "bytes" -> (double) bytes;
+            default -> throw new IllegalArgumentException("Unknown perf metric: " + metric);
+        };
+    }
+
+    private static String csv(Double value) {
+        return value == null ? "" : String.format(Locale.ROOT, "%.1f", value);
+    }
+}
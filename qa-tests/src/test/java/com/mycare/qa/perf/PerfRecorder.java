@@ -0,0 +1,232 @@
+package com.mycare.qa.perf;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.Cdp;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records page-load and interaction timings for the test running on the current thread.
+ * Page objects wrap navigations and key clicks in {@link #measure(String, Runnable)}; when no recorder is active
+ * the action simply runs.
+ */
+public final class PerfRecorder {
+    private static final ThreadLocal<PerfRecorder> CURRENT = new ThreadLocal<>();
+    private static final Object CSV_LOCK = new Object();
+    private static final Json JSON = new Json();
+
+    // Collects Navigation/Paint/Resource Timing. LCP is only exposed through a buffered PerformanceObserver,
+    // whose callback is asynchronous, hence the short delay before returning.
+    private static final String COLLECT_SCRIPT =
+            "var beforeOrigin = arguments[0], since = arguments[1], done = arguments[arguments.length - 1];"
+            + "var r = { timeOrigin: performance.timeOrigin, now: performance.now(), url: location.href, lcp: null };"
+            + "r.sameDocument = performance.timeOrigin === beforeOrigin;"
+            + "var from = r.sameDocument ? since : 0;"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (nav) {"
+            + "  r.ttfb = nav.responseStart - nav.startTime;"
+            + "  r.dcl = nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd - nav.startTime : null;"
+            + "  r.load = nav.loadEventEnd > 0 ? nav.loadEventEnd - nav.startTime : null;"
+            + "}"
+            + "var fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+            + "r.fcp = fcp ? fcp.startTime : null;"
+            + "var resources = performance.getEntriesByType('resource').filter(function (e) { return e.startTime >= from; });"
+            + "r.requests = resources.length;"
+            + "r.bytes = resources.reduce(function (sum, e) { return sum + (e.transferSize || 0); }, 0);"
+            + "try {"
+            + "  new PerformanceObserver(function (list) {"
+            + "    var entries = list.getEntries();"
+            + "    if (entries.length) { r.lcp = entries[entries.length - 1].startTime; }"
+            + "  }).observe({ type: 'largest-contentful-paint', buffered: true });"
+            + "} catch (e) {}"
+            + "setTimeout(function () { done(r); }, 50);";
+
+    private final WebDriver driver;
+    private final String test;
+    private final List<PerfMetric> metrics = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong cdpRequests = new AtomicLong();
+    private final AtomicLong cdpBytes = new AtomicLong();
+    private final boolean cdp;
+
+    private PerfRecorder(WebDriver driver, String test) {
+        this.driver = driver;
+        this.test = test;
+        this.cdp = TestProperties.getBoolean("perf.cdp", true) && Cdp.devTools(driver).map(devTools -> {
+            Cdp.send(devTools, "Network.enable", Map.of());
+            Cdp.on(devTools, "Network.requestWillBeSent", event -> cdpRequests.incrementAndGet());
+            Cdp.on(devTools, "Network.loadingFinished", event -> {
+                Object length = event.get("encodedDataLength");
+                if (length instanceof Number) {
+                    cdpBytes.addAndGet(((Number) length).longValue());
+                }
+            });
+            return true;
+        }).orElse(false);
+    }
+
+    public static boolean isEnabled() {
+        return TestProperties.getBoolean("perf.capture", true);
+    }
+
+    /**
+     * Starts recording for a test and captures the page load the session has just performed.
+     */
+    public static PerfRecorder start(WebDriver driver, String test) {
+        PerfRecorder recorder = new PerfRecorder(driver, test);
+        CURRENT.set(recorder);
+        try {
+            recorder.record("initialLoad", null, 0.0, null, null, -1);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to capture initial page load timing: " + e.getMessage());
+        }
+        return recorder;
+    }
+
+    public static Optional<PerfRecorder> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Runs the action and, if a recorder is active on this thread, records how long it took and what it loaded.
+     * The action should include whatever wait marks the navigation or interaction as finished.
+     */
+    public static void measure(String label, Runnable action) {
+        PerfRecorder recorder = CURRENT.get();
+        if (recorder == null) {
+            action.run();
+            return;
+        }
+        recorder.time(label, action);
+    }
+
+    /**
+     * Stops recording on this thread and writes the test's metrics next to the surefire reports.
+     */
+    public static List<PerfMetric> finish() {
+        PerfRecorder recorder = CURRENT.get();
+        CURRENT.remove();
+        if (recorder == null) {
+            return List.of();
+        }
+        List<PerfMetric> result = recorder.getMetrics();
+        if (!result.isEmpty()) {
+            recorder.write(result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the aggregated CSV from a previous run; called once before the suite starts.
+     */
+    public static void resetReports() {
+        try {
+            Files.deleteIfExists(TestProperties.reportsDir().resolve("perf-metrics.csv"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove previous perf-metrics.csv", e);
+        }
+    }
+
+    public String getTest() {
+        return test;
+    }
+
+    public List<PerfMetric> getMetrics() {
+        synchronized (metrics) {
+            return new ArrayList<>(metrics);
+        }
+    }
+
+    private void time(String label, Runnable action) {
+        Map<String, Object> before = snapshot();
+        long requestsBefore = cdpRequests.get();
+        long bytesBefore = cdpBytes.get();
+        long start = System.nanoTime();
+        action.run();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        try {
+            Long requests = cdp ? cdpRequests.get() - requestsBefore : null;
+            Long bytes = cdp ? cdpBytes.get() - bytesBefore : null;
+            record(label, number(before.get("timeOrigin")), number(before.get("now")), requests, bytes, durationMs);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to capture timing for " + label + ": " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(String label, Double beforeOrigin, Double since, Long cdpRequestCount, Long cdpByteCount,
+                        long durationMs) {
+        Map<String, Object> r = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(COLLECT_SCRIPT, beforeOrigin, since);
+        boolean navigation = !Boolean.TRUE.equals(r.get("sameDocument"));
+        Double load = number(r.get("load"));
+        Double dcl = number(r.get("dcl"));
+        if (durationMs < 0) {
+            // Initial load: the page was loaded before recording began, so take the duration from the browser
+            durationMs = Math.round(load != null ? load : dcl != null ? dcl : 0);
+        }
+
+        // CDP sees every request, including ones the page cannot observe; Resource Timing is the fallback
+        boolean fromCdp = cdpRequestCount != null;
+        long requests = fromCdp ? cdpRequestCount : number(r.get("requests")).longValue();
+        long bytes = fromCdp ? cdpByteCount : number(r.get("bytes")).longValue();
+        String source = fromCdp ? "cdp" : "resource-timing";
+
+        metrics.add(new PerfMetric(test, label, navigation ? "navigation" : "interaction", String.valueOf(r.get("url")),
+                durationMs,
+                navigation ? number(r.get("ttfb")) : null,
+                navigation ? dcl : null,
+                navigation ? load : null,
+                navigation ? number(r.get("fcp")) : null,
+                navigation ? number(r.get("lcp")) : null,
+                requests, bytes, source));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> snapshot() {
+        return (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript("return { timeOrigin: performance.timeOrigin, now: performance.now() };");
+    }
+
+    private void write(List<PerfMetric> result) {
+        Path dir = TestProperties.reportsDir();
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("test", test);
+        document.put("metrics", result.stream().map(PerfMetric::toMap).toList());
+        try {
+            Path perfDir = Files.createDirectories(dir.resolve("perf"));
+            Files.writeString(perfDir.resolve(test + ".json"), JSON.toJson(document));
+
+            List<String> lines = new ArrayList<>();
+            for (PerfMetric metric : result) {
+                lines.add(metric.toCsv());
+            }
+            Path csv = dir.resolve("perf-metrics.csv");
+            synchronized (CSV_LOCK) {
+                if (Files.notExists(csv)) {
+                    Files.writeString(csv, PerfMetric.CSV_HEADER + System.lineSeparator());
+                }
+                Files.write(csv, lines, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write perf metrics for " + test, e);
+        }
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+}
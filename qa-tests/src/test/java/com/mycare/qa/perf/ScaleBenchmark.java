@@ -0,0 +1,251 @@
+package com.mycare.qa.perf;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.data.ScaleDataset;
+import com.mycare.qa.support.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures list endpoints and pages as the collections behind them grow. At every size the dataset is grown,
+ * each endpoint is requested a few times (latency and payload bytes) and each page is loaded until its list has
+ * rendered. The growth exponent between sizes, the k in cost ~ size^k, tells a paginated endpoint (k near 0) from
+ * one that returns or scans the whole collection (k near 1 or above).
+ */
+public class ScaleBenchmark {
+    private static final Json JSON = new Json();
+
+    private final WebDriver driver;
+    private final WaitEngine wait;
+    private final String appUrl;
+    private final String token;
+    private final Config config;
+    private final ApiClient api = new ApiClient();
+    private final List<Map<String, Object>> points = new ArrayList<>();
+    // Once a request or page times out at one size, larger sizes only take longer
+    private final Set<String> exhausted = new HashSet<>();
+
+    public ScaleBenchmark(WebDriver driver, String appUrl, String token, Config config) {
+        this.driver = driver;
+        this.wait = new WaitEngine(driver).withTimeout(config.renderTimeout());
+        this.appUrl = appUrl;
+        this.token = token;
+        this.config = config;
+    }
+
+    public Result run(ScaleDataset dataset) {
+        for (long size : config.sizes()) {
+            dataset.growTo(size);
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("size", size);
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            config.endpoints().forEach((name, path) ->
+                    endpoints.put(name, measureEndpoint(name, path.replace("{communityId}", dataset.orderCommunityId()))));
+            point.put("api", endpoints);
+            Map<String, Object> pages = new LinkedHashMap<>();
+            config.pages().forEach((name, page) -> pages.put(name, measurePage(name, page)));
+            point.put("pages", pages);
+            point.put("communityOrdersPlan", dataset.explainCommunityOrders());
+            points.add(point);
+            System.out.println("Scale " + size + ": " + point);
+        }
+        return analyse();
+    }
+
+    private Map<String, Object> measureEndpoint(String name, String path) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (exhausted.contains("api." + name)) {
+            result.put("error", "skipped after an earlier failure");
+            return result;
+        }
+        List<Double> latencies = new ArrayList<>();
+        try {
+            ApiClient.Response response = api.get(path, token);
+            for (int i = 0; response.isSuccess() && i < config.apiSamples(); i++) {
+                long start = System.nanoTime();
+                response = api.get(path, token);
+                if (response.isSuccess()) {
+                    latencies.add((System.nanoTime() - start) / 1_000_000.0);
+                    result.put("bytes", response.body().getBytes(StandardCharsets.UTF_8).length);
+                }
+            }
+            result.put("status", response.status());
+            if (!response.isSuccess()) {
+                // An error body is small and fast; timing it would hide how the endpoint really grows
+                latencies.clear();
+                result.remove("bytes");
+                result.put("error", "HTTP " + response.status());
+                System.err.println("Scale request " + name + " failed: " + result.get("error"));
+            }
+        } catch (RuntimeException e) {
+            exhausted.add("api." + name);
+            result.put("error", String.valueOf(e.getCause() != null ? e.getCause() : e.getMessage()));
+            System.err.println("Scale request " + name + " failed: " + result.get("error"));
+        }
+        if (!latencies.isEmpty()) {
+            result.put("medianMs", Stats.median(latencies));
+            result.put("p95Ms", Stats.percentile(latencies, 95));
+        }
+        return result;
+    }
+
+    private Map<String, Object> measurePage(String name, Page page) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (exhausted.contains("page." + name)) {
+            result.put("error", "skipped after an earlier failure");
+            return result;
+        }
+        try {
+            driver.get("about:blank");
+            long start = System.nanoTime();
+            driver.get(appUrl + page.path());
+            wait.until(d -> !d.findElements(By.cssSelector(page.readySelector())).isEmpty());
+            wait.appIdle();
+            result.put("renderMs", (System.nanoTime() - start) / 1_000_000.0);
+            Map<?, ?> counts = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(
+                    "return { items: document.querySelectorAll(arguments[0]).length,"
+                            + " nodes: document.getElementsByTagName('*').length };", page.readySelector());
+            result.put("items", counts.get("items"));
+            result.put("nodes", counts.get("nodes"));
+        } catch (RuntimeException e) {
+            exhausted.add("page." + name);
+            result.put("error", e.getClass().getSimpleName() + ": "
+                    + String.valueOf(e.getMessage()).lines().findFirst().orElse(""));
+            System.err.println("Scale page " + name + " failed: " + result.get("error"));
+        }
+        return result;
+    }
+
+    private Result analyse() {
+        Map<String, List<double[]>> series = new LinkedHashMap<>();
+        for (Map<String, Object> point : points) {
+            double size = ((Number) point.get("size")).doubleValue();
+            collect(series, "api", (Map<?, ?>) point.get("api"), List.of("medianMs", "bytes"), size);
+            collect(series, "page", (Map<?, ?>) point.get("pages"), List.of("renderMs", "nodes"), size);
+        }
+
+        List<String> problems = new ArrayList<>();
+        Map<String, Object> exponents = new LinkedHashMap<>();
+        series.forEach((name, values) -> {
+            if (values.size() < 2) {
+                return;
+            }
+            double[] previous = values.get(values.size() - 2);
+            double[] last = values.get(values.size() - 1);
+            double exponent = Math.log(last[1] / previous[1]) / Math.log(last[0] / previous[0]);
+            exponents.put(name, exponent);
+            if (exponent > config.maxExponent()) {
+                problems.add(String.format("%s grows ~size^%.2f between %.0f and %.0f (%.0f -> %.0f)%s", name,
+                        exponent, previous[0], last[0], previous[1], last[1],
+                        name.endsWith(".bytes") ? ": the whole collection is returned, no pagination" : ""));
+            }
+        });
+        points.forEach(point -> {
+            Map<?, ?> plan = (Map<?, ?>) point.get("communityOrdersPlan");
+            double examined = ((Number) plan.get("docsExamined")).doubleValue();
+            double returned = ((Number) plan.get("returned")).doubleValue();
+            if (examined > 1000 && examined > returned * config.maxScanRatio()) {
+                problems.add(String.format("Community orders query at size %s examines %.0f documents for %.0f"
+                        + " results (%s): missing index on orders.community", point.get("size"), examined, returned,
+                        plan.get("stage")));
+            }
+        });
+        points.forEach(point -> ((Map<?, ?>) point.get("api")).forEach((name, value) -> {
+            Object error = ((Map<?, ?>) value).get("error");
+            if (error != null && !String.valueOf(error).startsWith("skipped")) {
+                problems.add("GET " + name + " failed at size " + point.get("size") + ": " + error);
+            }
+        }));
+        return new Result(points, series, exponents, problems);
+    }
+
+    private static void collect(Map<String, List<double[]>> series, String prefix, Map<?, ?> measurements,
+                                List<String> metrics, double size) {
+        measurements.forEach((name, value) -> {
+            Map<?, ?> measurement = (Map<?, ?>) value;
+            for (String metric : metrics) {
+                if (measurement.get(metric) instanceof Number number && number.doubleValue() > 0) {
+                    series.computeIfAbsent(prefix + "." + name + "." + metric, key -> new ArrayList<>())
+                            .add(new double[] {size, number.doubleValue()});
+                }
+            }
+        });
+    }
+
+    public record Page(String path, String readySelector) {
+    }
+
+    public record Config(List<Long> sizes, Map<String, String> endpoints, Map<String, Page> pages, int apiSamples,
+                         Duration renderTimeout, double maxExponent, double maxScanRatio) {
+
+        /**
+         * Reads scale.* settings; scale.endpoint.<name>=<path> and scale.page.<name>=<path> <ready selector>.
+         */
+        public static Config fromProperties() {
+            List<Long> sizes = Arrays.stream(TestProperties.get("scale.sizes", "1000,10000,100000,1000000").split(","))
+                    .map(String::trim)
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+            Map<String, Page> pages = new LinkedHashMap<>();
+            TestProperties.withPrefix("scale.page.").forEach((name, value) -> {
+                String[] parts = value.trim().split("\\s+", 2);
+                pages.put(name, new Page(parts[0], parts[1]));
+            });
+            return new Config(sizes,
+                    new LinkedHashMap<>(TestProperties.withPrefix("scale.endpoint.")),
+                    pages,
+                    TestProperties.getInt("scale.api.samples", 5),
+                    Duration.ofSeconds(TestProperties.getInt("scale.render.timeout.seconds", 120)),
+                    Double.parseDouble(TestProperties.get("scale.max.exponent", "0.5")),
+                    Double.parseDouble(TestProperties.get("scale.max.scan.ratio", "10")));
+        }
+    }
+
+    public record Result(List<Map<String, Object>> points, Map<String, List<double[]>> series,
+                         Map<String, Object> exponents, List<String> problems) {
+
+        public void print() {
+            System.out.println("Growth exponents between the two largest sizes:");
+            exponents.forEach((name, exponent) -> System.out.printf("  %-40s %.2f%n", name, (Double) exponent));
+            problems.forEach(problem -> System.out.println("  SCALING: " + problem));
+        }
+
+        /**
+         * Writes scale-report.json and scale-curve.svg, a log-log plot of every series, to the reports directory.
+         */
+        public Path write() {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("points", points);
+            document.put("exponents", exponents);
+            document.put("problems", problems);
+            Path dir = TestProperties.reportsDir();
+            Path svg = dir.resolve("scale-curve.svg");
+            try {
+                Files.createDirectories(dir);
+                Files.writeString(dir.resolve("scale-report.json"), JSON.toJson(document));
+                Files.writeString(svg, ScaleChart.render(series));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write scale report to " + dir, e);
+            }
+            return svg;
+        }
+    }
+}
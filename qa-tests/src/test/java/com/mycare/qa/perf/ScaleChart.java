@@ -0,0 +1,102 @@
+package com.mycare.qa.perf;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Log-log SVG plot of the scale benchmark series, one panel per unit, so a straight line's slope is its growth
+ * exponent. Dependency-free on purpose: the file opens in any browser next to the surefire reports.
+ */
+final class ScaleChart {
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#ff7f0e", "#9467bd", "#8c564b",
+            "#e377c2", "#17becf"};
+    private static final int WIDTH = 760;
+    private static final int PANEL_HEIGHT = 300;
+    private static final int LEFT = 70;
+    private static final int RIGHT = 230;
+    private static final int TOP = 30;
+    private static final int BOTTOM = 40;
+
+    private ScaleChart() {
+    }
+
+    static String render(Map<String, List<double[]>> series) {
+        Map<String, Map<String, List<double[]>>> panels = new LinkedHashMap<>();
+        series.forEach((name, points) -> panels
+                .computeIfAbsent(unit(name), key -> new LinkedHashMap<>())
+                .put(name, points));
+
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\""
+                        + " font-size=\"11\">%n", WIDTH, Math.max(1, panels.size()) * PANEL_HEIGHT));
+        int offset = 0;
+        for (Map.Entry<String, Map<String, List<double[]>>> panel : panels.entrySet()) {
+            panel(svg, panel.getKey(), panel.getValue(), offset);
+            offset += PANEL_HEIGHT;
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    private static void panel(StringBuilder svg, String unit, Map<String, List<double[]>> series, int offset) {
+        List<double[]> all = new ArrayList<>();
+        series.values().forEach(all::addAll);
+        double minX = Math.floor(Math.log10(all.stream().mapToDouble(p -> p[0]).min().orElse(1)));
+        double maxX = Math.max(minX + 1, Math.ceil(Math.log10(all.stream().mapToDouble(p -> p[0]).max().orElse(10))));
+        double minY = Math.floor(Math.log10(all.stream().mapToDouble(p -> p[1]).min().orElse(1)));
+        double maxY = Math.max(minY + 1, Math.ceil(Math.log10(all.stream().mapToDouble(p -> p[1]).max().orElse(10))));
+        int plotWidth = WIDTH - LEFT - RIGHT;
+        int plotHeight = PANEL_HEIGHT - TOP - BOTTOM;
+        int top = offset + TOP;
+
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"13\">%s vs collection size"
+                + "</text>%n", LEFT, offset + 18, unit));
+        for (double decade = minX; decade <= maxX; decade++) {
+            double x = LEFT + (decade - minX) / (maxX - minX) * plotWidth;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#ddd\"/>"
+                    + "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n", x, top, x, top + plotHeight, x,
+                    top + plotHeight + 15, label(decade)));
+        }
+        for (double decade = minY; decade <= maxY; decade++) {
+            double y = top + plotHeight - (decade - minY) / (maxY - minY) * plotHeight;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#ddd\"/>"
+                    + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n", LEFT, y, LEFT + plotWidth, y,
+                    LEFT - 6, y + 4, label(decade)));
+        }
+
+        int index = 0;
+        for (Map.Entry<String, List<double[]>> entry : series.entrySet()) {
+            String color = COLORS[index % COLORS.length];
+            StringBuilder path = new StringBuilder();
+            for (double[] point : entry.getValue()) {
+                double x = LEFT + (Math.log10(point[0]) - minX) / (maxX - minX) * plotWidth;
+                double y = top + plotHeight - (Math.log10(point[1]) - minY) / (maxY - minY) * plotHeight;
+                path.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+                svg.append(String.format(Locale.ROOT, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>%n",
+                        x, y, color));
+            }
+            svg.append(String.format(Locale.ROOT, "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\"/>%n"
+                            + "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n", path.toString().trim(), color,
+                    LEFT + plotWidth + 10, top + 12 + index * 16, color, entry.getKey()));
+            index++;
+        }
+    }
+
+    private static String unit(String series) {
+        if (series.endsWith("Ms")) {
+            return "Milliseconds";
+        }
+        return series.endsWith(".bytes") ? "Payload bytes" : "DOM nodes";
+    }
+
+    private static String label(double decade) {
+        long value = Math.round(Math.pow(10, decade));
+        if (value >= 1_000_000) {
+            return value / 1_000_000 + "M";
+        }
+        return value >= 1000 ? value / 1000 + "k" : Long.toString(value);
+    }
+}
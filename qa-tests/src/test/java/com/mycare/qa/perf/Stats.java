@@ -0,0 +1,91 @@
+package com.mycare.qa.perf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Small statistics helpers for perf samples.
+ */
+public final class Stats {
+
+    private Stats() {
+    }
+
+    public static double median(Collection<Double> samples) {
+        return percentile(samples, 50);
+    }
+
+    /**
+     * Nearest-rank percentile of the samples; NaN when there are none.
+     */
+    public static double percentile(Collection<Double> samples, double percentile) {
+        if (samples.isEmpty()) {
+            return Double.NaN;
+        }
+        List<Double> sorted = new ArrayList<>(samples);
+        sorted.sort(null);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size(), Math.max(1, rank)) - 1);
+    }
+
+    /**
+     * One-sided Mann-Whitney U test (normal approximation with tie correction) for "current tends to be larger than
+     * baseline". Returns the p-value; small values mean the current samples are significantly slower.
+     */
+    public static double mannWhitneyGreaterP(List<Double> current, List<Double> baseline) {
+        int n1 = current.size();
+        int n2 = baseline.size();
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        List<double[]> pooled = new ArrayList<>(n1 + n2);
+        for (double value : current) {
+            pooled.add(new double[] {value, 1});
+        }
+        for (double value : baseline) {
+            pooled.add(new double[] {value, 0});
+        }
+        pooled.sort((a, b) -> Double.compare(a[0], b[0]));
+
+        // Average ranks across ties
+        double rankSumCurrent = 0;
+        double tieTerm = 0;
+        int i = 0;
+        while (i < pooled.size()) {
+            int j = i;
+            while (j + 1 < pooled.size() && pooled.get(j + 1)[0] == pooled.get(i)[0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1;
+            int ties = j - i + 1;
+            tieTerm += Math.pow(ties, 3) - ties;
+            for (int k = i; k <= j; k++) {
+                if (pooled.get(k)[1] == 1) {
+                    rankSumCurrent += rank;
+                }
+            }
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * n2 / 2.0;
+        int n = n1 + n2;
+        double variance = n1 * n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        // Continuity correction towards the mean
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    private static double normalCdf(double z) {
+        // Abramowitz-Stegun 7.1.26 approximation of erf
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycare.qa.perf;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StatsTest {
+
+    @Test
+    public void testPercentileUsesNearestRank() {
+        List<Double> samples = List.of(5.0, 1.0, 4.0, 2.0, 3.0);
+        assertEquals(Stats.median(samples), 3.0);
+        assertEquals(Stats.percentile(samples, 95), 5.0);
+        assertEquals(Stats.percentile(samples, 0), 1.0);
+        assertTrue(Double.isNaN(Stats.median(List.of())));
+    }
+
+    @Test
+    public void testMannWhitneyMatchesNormalApproximation() {
+        // U = 9, mean 4.5, variance 5.25, z = (9 - 4.5 - 0.5) / sqrt(5.25)
+        double p = Stats.mannWhitneyGreaterP(List.of(4.0, 5.0, 6.0), List.of(1.0, 2.0, 3.0));
+        assertEquals(p, 0.0404, 0.001);
+    }
+
+    @Test
+    public void testMannWhitneyIsOneSided() {
+        List<Double> fast = List.of(100.0, 102.0, 98.0, 101.0, 99.0, 103.0, 97.0, 100.0);
+        List<Double> slow = List.of(150.0, 148.0, 152.0, 151.0, 149.0, 153.0, 147.0, 150.0);
+        assertTrue(Stats.mannWhitneyGreaterP(slow, fast) < 0.01, "slower current run must be significant");
+        assertTrue(Stats.mannWhitneyGreaterP(fast, slow) > 0.99, "faster current run must not be flagged");
+    }
+
+    @Test
+    public void testMannWhitneyWithoutEvidence() {
+        assertEquals(Stats.mannWhitneyGreaterP(List.of(), List.of(1.0, 2.0)), 1.0);
+        // All values tied: zero variance after the tie correction
+        assertEquals(Stats.mannWhitneyGreaterP(List.of(5.0, 5.0), List.of(5.0, 5.0, 5.0)), 1.0);
+    }
+}
@@ -0,0 +1,142 @@
+package com.mycare.qa.report;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only JSON Lines log of the run, one event per line. Callers only enqueue; a single background thread
+ * serializes and writes, and flushes every time it catches up, so test threads never wait on disk and a run that
+ * dies leaves everything up to its last moments on disk.
+ */
+public final class ResultStream {
+    private static final Json JSON = new Json();
+    private static final Map<String, Object> END = Map.of();
+    private static volatile ResultStream instance;
+
+    private final Path file;
+    private final BlockingQueue<Map<String, Object>> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    private ResultStream(Path file) {
+        this.file = file;
+        this.writer = new Thread(this::drain, "results-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        // Drains whatever is queued if the JVM is stopped before the suite finishes, e.g. by a surefire timeout
+        this.shutdownHook = new Thread(this::close, "results-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Starts a new stream, truncating the file, and makes it the one {@link #emit} writes to.
+     */
+    public static synchronized ResultStream open(Path file) {
+        if (instance != null) {
+            instance.close();
+        }
+        instance = new ResultStream(file);
+        return instance;
+    }
+
+    public static Optional<ResultStream> current() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Queues an event on the current stream, if there is one. The map is serialized later, so it must not be
+     * modified afterwards.
+     */
+    public static void emit(String type, Map<String, Object> fields) {
+        ResultStream stream = instance;
+        if (stream != null) {
+            stream.write(type, fields);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void write(String type, Map<String, Object> fields) {
+        if (closed) {
+            return;
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", type);
+        event.put("time", System.currentTimeMillis());
+        event.putAll(fields);
+        queue.add(event);
+    }
+
+    /**
+     * Writes out everything queued so far and stops the writer.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        queue.add(END);
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down
+            }
+        }
+    }
+
+    private void drain() {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (Map<String, Object> event : batch) {
+                    if (event == END) {
+                        out.flush();
+                        return;
+                    }
+                    out.write(toJson(event));
+                    out.newLine();
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("Results stream " + file + " stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String toJson(Map<String, Object> event) {
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(json)) {
+            out.setPrettyPrint(false).write(event);
+        }
+        return json.toString();
+    }
+}
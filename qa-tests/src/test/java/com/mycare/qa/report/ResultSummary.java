@@ -0,0 +1,176 @@
+package com.mycare.qa.report;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Folds results.jsonl streams into a summary one line at a time. Memory is bounded by the tests running at once,
+ * the slowest-test list and the failure sample, not by the size of the suite. Works on the partial stream of a run
+ * that crashed or hung: tests that started but never ended are listed as incomplete, and a torn last line is
+ * skipped. Several streams, e.g. one per shard, can be folded into one summary.
+ *
+ * <pre>java -cp "target/test-classes:$(cat cp.txt)" com.mycare.qa.report.ResultSummary target/shards/shard-1/results.jsonl ...</pre>
+ */
+public final class ResultSummary {
+    public static final String FILE = "results-summary.json";
+
+    private static final Json JSON = new Json();
+    private static final int SLOWEST = 10;
+    private static final int FAILURE_SAMPLE = 50;
+
+    private final Map<String, Long> statuses = new TreeMap<>();
+    private final Map<String, Long> failureKinds = new TreeMap<>();
+    private final Map<String, String> running = new HashMap<>();
+    private final PriorityQueue<Map<String, Object>> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(ResultSummary::duration));
+    private final List<Map<String, Object>> failures = new ArrayList<>();
+    private final Map<String, Map<String, Object>> sampledFailures = new HashMap<>();
+    private long tests;
+    private long totalDurationMs;
+    private long configurationFailures;
+    private long unreadableLines;
+    private long firstEvent = Long.MAX_VALUE;
+    private long lastEvent = Long.MIN_VALUE;
+
+    private ResultSummary() {
+    }
+
+    public static void main(String[] args) {
+        String[] paths = args.length > 0 ? args : new String[]{"target/surefire-reports/" + StreamingResultListener.FILE};
+        List<Path> files = Stream.of(paths).map(Paths::get).toList();
+        write(files, files.get(0).resolveSibling(FILE));
+    }
+
+    /**
+     * Summarizes the streams into the output file and prints a one-line summary.
+     */
+    public static Map<String, Object> write(List<Path> files, Path output) {
+        Map<String, Object> summary = summarize(files);
+        try {
+            Files.writeString(output, JSON.toJson(summary));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + output, e);
+        }
+        System.out.printf("Results: %s tests, statuses %s, %s incomplete, %s configuration failures -> %s%n",
+                summary.get("tests"), summary.get("statuses"), ((List<?>) summary.get("incomplete")).size(),
+                summary.get("configurationFailures"), output);
+        return summary;
+    }
+
+    public static Map<String, Object> summarize(List<Path> files) {
+        ResultSummary summary = new ResultSummary();
+        for (int i = 0; i < files.size(); i++) {
+            summary.read(files.get(i), i);
+        }
+        return summary.toMap();
+    }
+
+    private void read(Path file, int source) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> event;
+                try {
+                    event = JSON.toType(line, Json.MAP_TYPE);
+                } catch (JsonException e) {
+                    unreadableLines++;
+                    continue;
+                }
+                accept(event, source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    private void accept(Map<String, Object> event, int source) {
+        if (event.get("time") instanceof Number time) {
+            firstEvent = Math.min(firstEvent, time.longValue());
+            lastEvent = Math.max(lastEvent, time.longValue());
+        }
+        String key = source + "#" + event.get("id");
+        switch (String.valueOf(event.get("event"))) {
+            case "testStart" -> running.put(key, String.valueOf(event.get("test")));
+            case "testEnd" -> {
+                running.remove(key);
+                tests++;
+                String status = String.valueOf(event.get("status"));
+                statuses.merge(status, 1L, Long::sum);
+                totalDurationMs += duration(event);
+                slowest.add(Map.of("test", event.get("test"), "durationMs", duration(event)));
+                if (slowest.size() > SLOWEST) {
+                    slowest.poll();
+                }
+                // Skips and retried attempts carry a throwable too, but only failures are worth listing
+                if (event.get("failure") instanceof Map<?, ?> failure && status.contains("FAILURE")) {
+                    failureKinds.merge(String.valueOf(failure.get("kind")), 1L, Long::sum);
+                    if (failures.size() < FAILURE_SAMPLE) {
+                        Map<String, Object> entry = new LinkedHashMap<>();
+                        entry.put("test", event.get("test"));
+                        entry.put("status", status);
+                        entry.put("kind", failure.get("kind"));
+                        entry.put("message", failure.get("message"));
+                        failures.add(entry);
+                        sampledFailures.put(key, entry);
+                    }
+                }
+            }
+            case "artifacts" -> {
+                // Written in the background, so this arrives after the test's testEnd
+                Map<String, Object> failure = sampledFailures.get(key);
+                if (failure != null) {
+                    failure.put("artifacts", event.get("files"));
+                }
+            }
+            case "configuration" -> {
+                if ("FAILURE".equals(event.get("status"))) {
+                    configurationFailures++;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Map<String, Object> toMap() {
+        List<Map<String, Object>> slowestFirst = new ArrayList<>(slowest);
+        slowestFirst.sort(Comparator.comparingLong(ResultSummary::duration).reversed());
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("tests", tests);
+        map.put("statuses", statuses);
+        map.put("failureKinds", failureKinds);
+        map.put("configurationFailures", configurationFailures);
+        map.put("totalDurationMs", totalDurationMs);
+        map.put("wallClockMs", firstEvent <= lastEvent ? lastEvent - firstEvent : 0);
+        map.put("slowest", slowestFirst);
+        map.put("failures", failures);
+        map.put("incomplete", running.values().stream().sorted().toList());
+        map.put("unreadableLines", unreadableLines);
+        return map;
+    }
+
+    private static long duration(Map<String, Object> event) {
+        return event.get("durationMs") instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.mycare.qa.report;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ResultSummaryTest {
+
+    @Test
+    public void testCountsStatusesDurationsAndWallClock() throws IOException {
+        Map<String, Object> summary = ResultSummary.summarize(List.of(stream(
+                start(1, "A.pass", 1000),
+                end(1, "A.pass", "SUCCESS", 300, 1300),
+                start(2, "A.skip", 1300),
+                end(2, "A.skip", "SKIP", 0, 1300),
+                start(3, "A.fail", 1300),
+                end(3, "A.fail", "FAILURE", 700, 2000, "ASSERTION"))));
+
+        assertEquals(summary.get("tests"), 3L);
+        assertEquals(summary.get("statuses"), Map.of("SUCCESS", 1L, "SKIP", 1L, "FAILURE", 1L));
+        assertEquals(summary.get("totalDurationMs"), 1000L);
+        assertEquals(summary.get("wallClockMs"), 1000L);
+        assertEquals(summary.get("incomplete"), List.of());
+        assertEquals(summary.get("unreadableLines"), 0L);
+    }
+
+    @Test
+    public void testOnlyFailuresAreListedWithTheirArtifacts() throws IOException {
+        Map<String, Object> summary = ResultSummary.summarize(List.of(stream(
+                end(1, "A.retried", "RETRIED", 100, 100, "FLAKY"),
+                end(2, "A.fail", "FAILURE", 100, 200, "TIMEOUT"),
+                "{\"event\":\"artifacts\",\"id\":2,\"files\":[\"A.fail.png\"],\"time\":300}")));
+
+        assertEquals(summary.get("failureKinds"), Map.of("TIMEOUT", 1L));
+        List<?> failures = (List<?>) summary.get("failures");
+        assertEquals(failures.size(), 1);
+        Map<?, ?> failure = (Map<?, ?>) failures.get(0);
+        assertEquals(failure.get("test"), "A.fail");
+        assertEquals(failure.get("kind"), "TIMEOUT");
+        assertEquals(failure.get("artifacts"), List.of("A.fail.png"));
+    }
+
+    @Test
+    public void testPartialStreamListsIncompleteTestsAndSkipsTornLine() throws IOException {
+        Map<String, Object> summary = ResultSummary.summarize(List.of(stream(
+                start(1, "A.done", 0),
+                end(1, "A.done", "SUCCESS", 10, 10),
+                start(2, "A.hung", 10),
+                "{\"event\":\"testEnd\",\"id\":2,\"sta")));
+
+        assertEquals(summary.get("tests"), 1L);
+        assertEquals(summary.get("incomplete"), List.of("A.hung"));
+        assertEquals(summary.get("unreadableLines"), 1L);
+    }
+
+    @Test
+    public void testStreamsAreFoldedWithoutMixingTheirIds() throws IOException {
+        // Both shards number their tests from 1; the end in shard 2 must not close the start in shard 1
+        Map<String, Object> summary = ResultSummary.summarize(List.of(
+                stream(start(1, "A.hung", 0)),
+                stream(start(1, "B.pass", 0), end(1, "B.pass", "SUCCESS", 50, 50))));
+
+        assertEquals(summary.get("tests"), 1L);
+        assertEquals(summary.get("incomplete"), List.of("A.hung"));
+    }
+
+    @Test
+    public void testSlowestKeepsTheTenLongestInDescendingOrder() throws IOException {
+        String[] lines = new String[15];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = end(i, "T" + i, "SUCCESS", i * 100L, i);
+        }
+        Map<String, Object> summary = ResultSummary.summarize(List.of(stream(lines)));
+
+        List<?> slowest = (List<?>) summary.get("slowest");
+        assertEquals(slowest.size(), 10);
+        assertEquals(((Map<?, ?>) slowest.get(0)).get("test"), "T14");
+        assertEquals(((Map<?, ?>) slowest.get(9)).get("test"), "T5");
+        for (int i = 1; i < slowest.size(); i++) {
+            long previous = ((Number) ((Map<?, ?>) slowest.get(i - 1)).get("durationMs")).longValue();
+            long current = ((Number) ((Map<?, ?>) slowest.get(i)).get("durationMs")).longValue();
+            assertFalse(current > previous, "slowest list out of order at " + i);
+        }
+    }
+
+    @Test
+    public void testConfigurationFailuresAreCounted() throws IOException {
+        Map<String, Object> summary = ResultSummary.summarize(List.of(stream(
+                "{\"event\":\"configuration\",\"status\":\"FAILURE\",\"time\":1}",
+                "{\"event\":\"configuration\",\"status\":\"SUCCESS\",\"time\":2}")));
+
+        assertEquals(summary.get("configurationFailures"), 1L);
+        assertTrue(((List<?>) summary.get("failures")).isEmpty());
+    }
+
+    private static String start(long id, String test, long time) {
+        return String.format("{\"event\":\"testStart\",\"id\":%d,\"test\":\"%s\",\"time\":%d}", id, test, time);
+    }
+
+    private static String end(long id, String test, String status, long durationMs, long time) {
+        return String.format("{\"event\":\"testEnd\",\"id\":%d,\"test\":\"%s\",\"status\":\"%s\",\"durationMs\":%d,\"time\":%d}",
+                id, test, status, durationMs, time);
+    }
+
+    private static String end(long id, String test, String status, long durationMs, long time, String kind) {
+        return String.format("{\"event\":\"testEnd\",\"id\":%d,\"test\":\"%s\",\"status\":\"%s\",\"durationMs\":%d,\"time\":%d,"
+                + "\"failure\":{\"kind\":\"%s\",\"message\":\"boom\"}}", id, test, status, durationMs, time, kind);
+    }
+
+    private static Path stream(String... lines) throws IOException {
+        Path file = Files.createTempFile("results", ".jsonl");
+        file.toFile().deleteOnExit();
+        Files.write(file, List.of(lines));
+        return file;
+    }
+}
@@ -0,0 +1,219 @@
+package com.mycare.qa.report;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.matrix.BrowserMatrix;
+import com.mycare.qa.perf.PerfMetric;
+import com.mycare.qa.perf.PerfRecorder;
+import com.mycare.qa.resilience.FailureKind;
+import org.testng.IConfigurationListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the run to results.jsonl as it happens: a testStart event when each test begins and a testEnd event
+ * with its status, duration, perf metrics and artifact paths when it ends, plus suite and configuration failure
+ * events. At the end of the suite {@link ResultSummary} folds the stream into results-summary.json. Disabled with
+ * results.stream=false.
+ */
+public class StreamingResultListener
+        implements ISuiteListener, ITestListener, IInvokedMethodListener, IConfigurationListener {
+    public static final String FILE = "results.jsonl";
+
+    private static final String ID = "results.id";
+    private static final String PERF = "results.perf";
+    private static final String ARTIFACTS = "results.artifacts";
+    private static final AtomicLong IDS = new AtomicLong();
+
+    /**
+     * Attaches a file to a test's testEnd event. The path is stored relative to the reports directory.
+     */
+    public static void addArtifact(ITestResult result, Path path) {
+        synchronized (result) {
+            @SuppressWarnings("unchecked")
+            List<String> artifacts = (List<String>) result.getAttribute(ARTIFACTS);
+            if (artifacts == null) {
+                artifacts = new ArrayList<>();
+                result.setAttribute(ARTIFACTS, artifacts);
+            }
+            artifacts.add(relative(path));
+        }
+    }
+
+    /**
+     * The id that ties a test's events together, or -1 if the test was never started on the stream.
+     */
+    public static long idOf(ITestResult result) {
+        Object id = result.getAttribute(ID);
+        return id instanceof Long ? (Long) id : -1;
+    }
+
+    public static String nameOf(ITestResult result) {
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        return BrowserMatrix.label(name, browserOf(result));
+    }
+
+    private static String browserOf(ITestResult result) {
+        return result.getTestContext().getCurrentXmlTest().getParameter("browser");
+    }
+
+    public static String relative(Path path) {
+        Path dir = TestProperties.reportsDir().toAbsolutePath();
+        Path absolute = path.toAbsolutePath();
+        return (absolute.startsWith(dir) ? dir.relativize(absolute) : absolute).toString().replace('\\', '/');
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!TestProperties.getBoolean("results.stream", true)) {
+            return;
+        }
+        ResultStream.open(TestProperties.reportsDir().resolve(FILE));
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("suite", suite.getName());
+        fields.put("shard", System.getProperty("shard"));
+        fields.put("parallel", suite.getXmlSuite().getParallel().toString());
+        fields.put("threads", suite.getXmlSuite().getThreadCount());
+        ResultStream.emit("suiteStart", fields);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ResultStream.current().ifPresent(stream -> {
+            ResultStream.emit("suiteEnd", Map.of("suite", suite.getName()));
+            stream.close();
+            ResultSummary.write(List.of(stream.getFile()),
+                    stream.getFile().resolveSibling(ResultSummary.FILE));
+        });
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        long id = IDS.incrementAndGet();
+        result.setAttribute(ID, id);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", id);
+        fields.put("test", nameOf(result));
+        fields.put("class", result.getTestClass().getName());
+        fields.put("browser", browserOf(result));
+        fields.put("thread", Thread.currentThread().getName());
+        if (result.getParameters().length > 0) {
+            fields.put("parameters", Arrays.stream(result.getParameters()).map(String::valueOf).toList());
+        }
+        ResultStream.emit("testStart", fields);
+    }
+
+    /**
+     * Picks up the perf metrics while the test's recorder is still active; it is finished in @AfterMethod.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            PerfRecorder.current().ifPresent(recorder -> result.setAttribute(PERF, recorder.getMetrics()));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        end(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        end(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        end(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        end(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        configuration(result, "FAILURE");
+    }
+
+    @Override
+    public void onConfigurationSkip(ITestResult result) {
+        configuration(result, "SKIP");
+    }
+
+    private void end(ITestResult result) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", idOf(result));
+        fields.put("test", nameOf(result));
+        fields.put("browser", browserOf(result));
+        fields.put("status", status(result));
+        fields.put("durationMs", Math.max(0, result.getEndMillis() - result.getStartMillis()));
+        fields.put("thread", Thread.currentThread().getName());
+        if (result.getThrowable() != null) {
+            fields.put("failure", failure(result.getThrowable()));
+        }
+
+        List<String> artifacts = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        List<PerfMetric> metrics = (List<PerfMetric>) result.getAttribute(PERF);
+        if (metrics != null && !metrics.isEmpty()) {
+            fields.put("perf", metrics.stream().map(PerfMetric::toMap).toList());
+            artifacts.add("perf/" + nameOf(result) + ".json");
+        }
+        synchronized (result) {
+            @SuppressWarnings("unchecked")
+            List<String> attached = (List<String>) result.getAttribute(ARTIFACTS);
+            if (attached != null) {
+                artifacts.addAll(attached);
+            }
+        }
+        if (!artifacts.isEmpty()) {
+            fields.put("artifacts", artifacts);
+        }
+        ResultStream.emit("testEnd", fields);
+    }
+
+    private void configuration(ITestResult result, String status) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("method", nameOf(result));
+        fields.put("status", status);
+        if (result.getThrowable() != null) {
+            fields.put("failure", failure(result.getThrowable()));
+        }
+        ResultStream.emit("configuration", fields);
+    }
+
+    private static String status(ITestResult result) {
+        return switch (result.getStatus()) {
+            case ITestResult.SUCCESS -> "SUCCESS";
+            case ITestResult.FAILURE -> "FAILURE";
+            case ITestResult.SUCCESS_PERCENTAGE_FAILURE -> "SUCCESS_PERCENTAGE_FAILURE";
+            case ITestResult.SKIP -> result.wasRetried() ? "RETRIED" : "SKIP";
+            default -> String.valueOf(result.getStatus());
+        };
+    }
+
+    private static Map<String, Object> failure(Throwable throwable) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("type", throwable.getClass().getName());
+        failure.put("kind", FailureKind.of(throwable).name());
+        String message = String.valueOf(throwable.getMessage());
+        // The first line is enough to group failures; the full trace stays in the surefire report
+        int newline = message.indexOf('\n');
+        failure.put("message", newline < 0 ? message : message.substring(0, newline));
+        return failure;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycare.qa.resilience;
+
+import com.mycare.qa.config.TestProperties;
+import org.testng.SkipException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Opens after circuit.breaker.threshold consecutive infrastructure failures, after which every remaining test is
+ * skipped before it asks for a browser. Any passing test closes the count again.
+ */
+public final class CircuitBreaker {
+    private static final AtomicInteger CONSECUTIVE = new AtomicInteger();
+    private static final AtomicReference<String> OPEN_REASON = new AtomicReference<>();
+
+    private CircuitBreaker() {
+    }
+
+    public static void recordInfrastructureFailure(String where, Throwable failure) {
+        int threshold = TestProperties.getInt("circuit.breaker.threshold", 3);
+        int count = CONSECUTIVE.incrementAndGet();
+        if (threshold > 0 && count >= threshold) {
+            String reason = count + " consecutive infrastructure failures, last in " + where + ": " + failure;
+            if (OPEN_REASON.compareAndSet(null, reason)) {
+                System.err.println("Circuit breaker open, skipping the remaining tests. " + reason);
+            }
+        }
+    }
+
+    public static void recordSuccess() {
+        if (OPEN_REASON.get() == null) {
+            CONSECUTIVE.set(0);
+        }
+    }
+
+    /**
+     * Trips the breaker straight away, e.g. when the suite health gate fails.
+     */
+    public static void open(String reason) {
+        if (OPEN_REASON.compareAndSet(null, reason)) {
+            System.err.println("Circuit breaker open, skipping the remaining tests. " + reason);
+        }
+    }
+
+    public static boolean isOpen() {
+        return OPEN_REASON.get() != null;
+    }
+
+    public static void checkClosed() {
+        String reason = OPEN_REASON.get();
+        if (reason != null) {
+            throw new SkipException("Circuit breaker open: " + reason);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycare.qa.resilience;
+
+import io.github.bonigarcia.wdm.config.WebDriverManagerException;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+
+/**
+ * Rough cause of a test or setup failure, used to decide between retrying, tripping the circuit breaker and
+ * reporting the failure as is.
+ */
+public enum FailureKind {
+    /** The browser, driver, app or API is not there; retrying will not help and neither will the next test. */
+    INFRASTRUCTURE,
+    /** Timing-sensitive UI failure that a fresh session often gets past. */
+    FLAKY,
+    /** Assertion failures and everything else. */
+    PRODUCT;
+
+    private static final String[] INFRASTRUCTURE_MESSAGES = {
+            "ERR_CONNECTION_REFUSED", "ERR_NAME_NOT_RESOLVED", "ERR_CONNECTION_RESET", "ERR_INTERNET_DISCONNECTED",
+            "Connection refused", "Could not start a new session", "unable to connect to renderer", "chrome not reachable"
+    };
+
+    public static FailureKind of(Throwable failure) {
+        if (failure == null || failure instanceof AssertionError) {
+            return PRODUCT;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SessionNotCreatedException || cause instanceof UnreachableBrowserException
+                    || cause instanceof NoSuchSessionException || cause instanceof ConnectException
+                    || cause instanceof HttpConnectTimeoutException || cause instanceof UnknownHostException
+                    || cause instanceof WebDriverManagerException) {
+                return INFRASTRUCTURE;
+            }
+            String message = cause.getMessage();
+            if (message != null) {
+                for (String marker : INFRASTRUCTURE_MESSAGES) {
+                    if (message.contains(marker)) {
+                        return INFRASTRUCTURE;
+                    }
+                }
+            }
+        }
+        // Helpers may wrap the WebDriver exception, so look through the causes here as well
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof StaleElementReferenceException
+                    || cause instanceof ElementClickInterceptedException
+                    || cause instanceof ElementNotInteractableException) {
+                return FLAKY;
+            }
+        }
+        return PRODUCT;
+    }
+}
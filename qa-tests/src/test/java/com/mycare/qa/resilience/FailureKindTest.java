@@ -0,0 +1,52 @@
+package com.mycare.qa.resilience;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+
+import static org.testng.Assert.assertEquals;
+
+public class FailureKindTest {
+
+    @Test
+    public void testAssertionsAndUnknownErrorsAreProductFailures() {
+        assertEquals(FailureKind.of(null), FailureKind.PRODUCT);
+        assertEquals(FailureKind.of(new AssertionError("expected [1] but found [2]")), FailureKind.PRODUCT);
+        assertEquals(FailureKind.of(new IllegalStateException("no fixture")), FailureKind.PRODUCT);
+        // A failed assertion stays a product failure whatever it wraps
+        assertEquals(FailureKind.of(new AssertionError("late", new TimeoutException())), FailureKind.PRODUCT);
+    }
+
+    @Test
+    public void testTimingFailuresAreFlaky() {
+        assertEquals(FailureKind.of(new TimeoutException("waiting for visibility")), FailureKind.FLAKY);
+        assertEquals(FailureKind.of(new StaleElementReferenceException("gone")), FailureKind.FLAKY);
+        assertEquals(FailureKind.of(new ElementClickInterceptedException("covered")), FailureKind.FLAKY);
+    }
+
+    @Test
+    public void testWrappedTimingFailuresAreFlaky() {
+        Throwable wrapped = new RuntimeException("Failed to click element: [data-testid='login-button']",
+                new IllegalStateException(new ElementClickInterceptedException("covered")));
+        assertEquals(FailureKind.of(wrapped), FailureKind.FLAKY);
+    }
+
+    @Test
+    public void testMissingEnvironmentIsInfrastructure() {
+        assertEquals(FailureKind.of(new SessionNotCreatedException("no driver")), FailureKind.INFRASTRUCTURE);
+        assertEquals(FailureKind.of(new RuntimeException(new ConnectException("refused"))), FailureKind.INFRASTRUCTURE);
+        assertEquals(FailureKind.of(new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED")),
+                FailureKind.INFRASTRUCTURE);
+    }
+
+    @Test
+    public void testInfrastructureWinsOverFlaky() {
+        Throwable timeout = new TimeoutException("page load", new ConnectException("refused"));
+        assertEquals(FailureKind.of(timeout), FailureKind.INFRASTRUCTURE);
+    }
+}
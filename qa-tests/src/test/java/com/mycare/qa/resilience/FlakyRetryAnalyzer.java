@@ -0,0 +1,27 @@
+package com.mycare.qa.resilience;
+
+import com.mycare.qa.config.TestProperties;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Re-runs a test whose failure looks flaky (wait timeouts, stale or intercepted elements) up to retry.max times.
+ * Assertion and infrastructure failures are never retried. TestBase discards the session a flaky failure ran in,
+ * so the retry starts on a fresh pooled browser.
+ */
+public class FlakyRetryAnalyzer implements IRetryAnalyzer {
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (CircuitBreaker.isOpen() || FailureKind.of(result.getThrowable()) != FailureKind.FLAKY
+                || attempts >= TestProperties.getInt("retry.max", 1)) {
+            return false;
+        }
+        attempts++;
+        System.err.printf("Retrying %s.%s after flaky failure (attempt %d): %s%n",
+                result.getTestClass().getRealClass().getSimpleName(), result.getMethod().getMethodName(),
+                attempts, result.getThrowable());
+        return true;
+    }
+}
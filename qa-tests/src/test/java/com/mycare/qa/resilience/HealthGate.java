@@ -0,0 +1,68 @@
+package com.mycare.qa.resilience;
+
+import com.mycare.qa.config.TestProperties;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks once per suite, before any browser starts, that the frontend answers at app.url and the Express API at
+ * api.url/health. A broken environment then fails in a few seconds instead of one browser timeout per test.
+ */
+public final class HealthGate {
+    private static volatile List<String> problems;
+
+    private HealthGate() {
+    }
+
+    /**
+     * Problems found with the environment, empty when it is healthy. Only the first call probes. The API is left
+     * out when apiNeeded is false, i.e. every class of the suite runs against the mock backend.
+     */
+    public static synchronized List<String> check(String appUrl, boolean apiNeeded) {
+        if (problems == null) {
+            problems = probe(appUrl, apiNeeded);
+        }
+        return problems;
+    }
+
+    private static List<String> probe(String appUrl, boolean apiNeeded) {
+        if (!TestProperties.getBoolean("health.gate.enabled", true)) {
+            return List.of();
+        }
+        Duration timeout = Duration.ofMillis(TestProperties.getLong("health.timeout.ms", 3000));
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        List<String> found = new ArrayList<>();
+        String apiUrl = TestProperties.get("api.url", "http://localhost:5000/api");
+        probe(http, timeout, "App", appUrl, found);
+        if (apiNeeded) {
+            probe(http, timeout, "API", (apiUrl.endsWith("/") ? apiUrl : apiUrl + "/") + "health", found);
+        }
+        return List.copyOf(found);
+    }
+
+    private static void probe(HttpClient http, Duration timeout, String name, String url, List<String> found) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 500) {
+                found.add(name + " at " + url + " answered HTTP " + status);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            found.add(name + " at " + url + " is unreachable: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            found.add(name + " health check at " + url + " was interrupted");
+        }
+    }
+}
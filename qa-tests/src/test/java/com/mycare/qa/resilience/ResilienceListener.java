@@ -0,0 +1,51 @@
+package com.mycare.qa.resilience;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IConfigurationListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Feeds test and setup outcomes into the {@link CircuitBreaker} and gives every test without its own retry
+ * analyzer the {@link FlakyRetryAnalyzer}. Annotation transformers are only honoured when registered with TestNG
+ * directly, so this is listed in the surefire listener property rather than in @Listeners.
+ */
+public class ResilienceListener implements IAnnotationTransformer, ITestListener, IConfigurationListener {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(FlakyRetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        CircuitBreaker.recordSuccess();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        record(result);
+    }
+
+    private void record(ITestResult result) {
+        if (FailureKind.of(result.getThrowable()) == FailureKind.INFRASTRUCTURE) {
+            CircuitBreaker.recordInfrastructureFailure(
+                    result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                    result.getThrowable());
+        }
+    }
+}
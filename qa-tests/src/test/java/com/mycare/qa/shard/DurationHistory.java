@@ -0,0 +1,86 @@
+package com.mycare.qa.shard;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-method run times from an earlier testng-results.xml, keyed by class and method name. Config methods and
+ * skipped methods are left out, and a method that ran several times (retries, invocation counts) is averaged.
+ */
+public final class DurationHistory {
+    private final Map<String, Long> durations;
+
+    private DurationHistory(Map<String, Long> durations) {
+        this.durations = durations;
+    }
+
+    public static DurationHistory empty() {
+        return new DurationHistory(Map.of());
+    }
+
+    public static DurationHistory load(Path resultsFile) {
+        if (Files.notExists(resultsFile)) {
+            System.out.println("No test history at " + resultsFile.toAbsolutePath() + ", sharding by count");
+            return empty();
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(resultsFile.toFile());
+
+            Map<String, long[]> totals = new HashMap<>();
+            NodeList classes = document.getElementsByTagName("class");
+            for (int i = 0; i < classes.getLength(); i++) {
+                Element type = (Element) classes.item(i);
+                NodeList methods = type.getElementsByTagName("test-method");
+                for (int j = 0; j < methods.getLength(); j++) {
+                    Element method = (Element) methods.item(j);
+                    if ("true".equals(method.getAttribute("is-config")) || "SKIP".equals(method.getAttribute("status"))
+                            || method.getAttribute("duration-ms").isEmpty()) {
+                        continue;
+                    }
+                    long[] total = totals.computeIfAbsent(key(type.getAttribute("name"), method.getAttribute("name")),
+                            k -> new long[2]);
+                    total[0] += Long.parseLong(method.getAttribute("duration-ms"));
+                    total[1]++;
+                }
+            }
+            Map<String, Long> durations = new HashMap<>();
+            totals.forEach((key, total) -> durations.put(key, total[0] / total[1]));
+            return new DurationHistory(durations);
+        } catch (Exception e) {
+            System.err.println("Failed to read test history from " + resultsFile + ": " + e.getMessage());
+            return empty();
+        }
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "." + methodName;
+    }
+
+    /**
+     * Recorded duration in milliseconds, or null for a method that has not run before.
+     */
+    public Long durationOf(String className, String methodName) {
+        return durations.get(key(className, methodName));
+    }
+
+    /**
+     * Mean of the known durations, used as the estimate for new methods.
+     */
+    public long meanDuration(long defaultMs) {
+        return durations.isEmpty() ? defaultMs
+                : Math.round(durations.values().stream().mapToLong(Long::longValue).average().orElse(defaultMs));
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mycare.qa.shard;
+
+/**
+ * One slice of a sharded run, parsed from -Dshard=i/N with a 1-based index.
+ */
+public record Shard(int index, int count) {
+
+    public Shard {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard must be i/N with 1 <= i <= N, got " + index + "/" + count);
+        }
+    }
+
+    /**
+     * The shard this JVM runs, or null when the suite is not sharded.
+     */
+    public static Shard current() {
+        String value = System.getProperty("shard");
+        return value == null || value.isBlank() ? null : parse(value.trim());
+    }
+
+    public static Shard parse(String value) {
+        String[] parts = value.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard must be i/N, got " + value);
+        }
+        return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycare.qa.shard;
+
+import com.mycare.qa.config.TestProperties;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the methods that belong to this JVM's shard when the run is started with -Dshard=i/N, and leaves
+ * the suite untouched otherwise. Registered globally through the surefire listener property. TestNG does not pass
+ * methods with dependsOnMethods/dependsOnGroups through interceptors, so those run on every shard.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private final Map<String, ShardPlan> plans = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Shard shard = Shard.current();
+        if (shard == null || shard.count() == 1) {
+            return methods;
+        }
+        ShardPlan plan = plans.computeIfAbsent(context.getSuite().getName(), name -> {
+            DurationHistory history = DurationHistory.load(Paths.get(
+                    TestProperties.get("shard.history.file", "target/surefire-reports/testng-results.xml")));
+            ShardPlan built = ShardPlan.build(context.getSuite().getXmlSuite(), shard.count(), history,
+                    TestProperties.getLong("shard.default.ms", 30000));
+            System.out.printf("Shard %s: expecting %d ms of %d ms total%n",
+                    shard, built.expectedMs(shard.index()), built.totalExpectedMs());
+            return built;
+        });
+
+        String testName = context.getCurrentXmlTest().getName();
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (plan.shardOf(testName, method.getRealClass().getName(), method.getMethodName()) == shard.index()) {
+                selected.add(instance);
+            }
+        }
+        System.out.printf("Shard %s: running %d of %d methods in '%s'%n",
+                shard, selected.size(), methods.size(), testName);
+        return selected;
+    }
+}
@@ -0,0 +1,114 @@
+package com.mycare.qa.shard;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every test method of a suite to a shard so that the expected run time, not the method count, is
+ * balanced. Methods are placed longest first onto the least loaded shard, which keeps the slowest shard within
+ * one method of the ideal. Every shard builds the same plan from the same suite file and history, so no
+ * coordination between JVMs or machines is needed.
+ */
+public final class ShardPlan {
+    private final int shardCount;
+    private final Map<String, Integer> assignments = new HashMap<>();
+    private final long[] expectedMs;
+
+    private ShardPlan(int shardCount) {
+        this.shardCount = shardCount;
+        this.expectedMs = new long[shardCount];
+    }
+
+    public static ShardPlan build(XmlSuite suite, int shardCount, DurationHistory history, long defaultMs) {
+        long unknownMs = history.meanDuration(defaultMs);
+        List<Entry> entries = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                Class<?> type = xmlClass.getSupportClass();
+                for (String methodName : testMethods(xmlClass)) {
+                    Long known = history.durationOf(type.getName(), methodName);
+                    entries.add(new Entry(key(test.getName(), type.getName(), methodName),
+                            known == null ? unknownMs : known));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::expectedMs).reversed().thenComparing(Entry::key));
+
+        ShardPlan plan = new ShardPlan(shardCount);
+        for (Entry entry : entries) {
+            int target = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (plan.expectedMs[i] < plan.expectedMs[target]) {
+                    target = i;
+                }
+            }
+            plan.assignments.put(entry.key(), target + 1);
+            plan.expectedMs[target] += entry.expectedMs();
+        }
+        return plan;
+    }
+
+    public static String key(String testName, String className, String methodName) {
+        return testName + "/" + DurationHistory.key(className, methodName);
+    }
+
+    /**
+     * 1-based shard for the method. Methods the suite file did not list up front (factories, data providers on
+     * generated classes) fall back to a stable hash so every shard still agrees on the owner.
+     */
+    public int shardOf(String testName, String className, String methodName) {
+        String key = key(testName, className, methodName);
+        Integer shard = assignments.get(key);
+        return shard != null ? shard : Math.floorMod(key.hashCode(), shardCount) + 1;
+    }
+
+    public long expectedMs(int shard) {
+        return expectedMs[shard - 1];
+    }
+
+    public long totalExpectedMs() {
+        long total = 0;
+        for (long ms : expectedMs) {
+            total += ms;
+        }
+        return total;
+    }
+
+    private static List<String> testMethods(XmlClass xmlClass) {
+        List<String> included = new ArrayList<>();
+        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+            included.add(include.getName());
+        }
+        List<String> excluded = xmlClass.getExcludedMethods();
+
+        Class<?> type = xmlClass.getSupportClass();
+        boolean classLevelTest = type.isAnnotationPresent(Test.class);
+        List<String> names = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            boolean isTest = test != null ? test.enabled()
+                    : classLevelTest && method.getDeclaringClass() == type && method.getReturnType() == void.class
+                            && !Modifier.isStatic(method.getModifiers()) && method.getDeclaredAnnotations().length == 0;
+            String name = method.getName();
+            if (isTest && (included.isEmpty() || included.contains(name)) && !excluded.contains(name)
+                    && !names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private record Entry(String key, long expectedMs) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.mycare.qa.shard;
+
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class ShardPlanTest {
+    private static final String TEST = "Timed Tests";
+    private static final String CLASS = Timed.class.getName();
+
+    @Test
+    public void testLongestFirstBalancesByDuration() throws IOException {
+        DurationHistory history = history("a", 9000, "b", 5000, "c", 4000, "d", 1000);
+        ShardPlan plan = ShardPlan.build(suite(new XmlClass(Timed.class)), 2, history, 30000);
+
+        // a -> 1, b -> 2, c -> 2 (5000 < 9000), d -> 1 (tie at 9000 goes to the first shard)
+        assertEquals(plan.shardOf(TEST, CLASS, "a"), 1);
+        assertEquals(plan.shardOf(TEST, CLASS, "b"), 2);
+        assertEquals(plan.shardOf(TEST, CLASS, "c"), 2);
+        assertEquals(plan.shardOf(TEST, CLASS, "d"), 1);
+        assertEquals(plan.expectedMs(1), 10000);
+        assertEquals(plan.expectedMs(2), 9000);
+    }
+
+    @Test
+    public void testUnseenMethodsUseTheMeanDuration() throws IOException {
+        DurationHistory history = history("a", 3000, "b", 1000);
+        ShardPlan plan = ShardPlan.build(suite(new XmlClass(Timed.class)), 3, history, 30000);
+
+        // c and d have no history and count as the 2000 ms mean
+        assertEquals(plan.totalExpectedMs(), 3000 + 1000 + 2000 + 2000);
+    }
+
+    @Test
+    public void testWithoutHistoryEveryMethodCostsTheDefault() {
+        ShardPlan plan = ShardPlan.build(suite(new XmlClass(Timed.class)), 2, DurationHistory.empty(), 100);
+        assertEquals(plan.expectedMs(1), 200);
+        assertEquals(plan.expectedMs(2), 200);
+    }
+
+    @Test
+    public void testIncludesExcludesAndDisabledMethodsAreHonoured() {
+        XmlClass included = new XmlClass(Timed.class);
+        included.setIncludedMethods(List.of(new XmlInclude("a"), new XmlInclude("b"), new XmlInclude("c")));
+        included.setExcludedMethods(List.of("c"));
+        ShardPlan plan = ShardPlan.build(suite(included), 2, DurationHistory.empty(), 100);
+        assertEquals(plan.totalExpectedMs(), 200);
+    }
+
+    @Test
+    public void testUnlistedMethodsFallBackToAStableShard() {
+        ShardPlan plan = ShardPlan.build(suite(new XmlClass(Timed.class)), 4, DurationHistory.empty(), 100);
+        int shard = plan.shardOf(TEST, CLASS, "generated");
+        assertTrue(shard >= 1 && shard <= 4, "shard " + shard + " out of range");
+        assertEquals(ShardPlan.build(suite(new XmlClass(Timed.class)), 4, DurationHistory.empty(), 100)
+                .shardOf(TEST, CLASS, "generated"), shard);
+    }
+
+    @Test
+    public void testShardParsing() {
+        assertEquals(Shard.parse(" 2 / 3 "), new Shard(2, 3));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("0/3"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("4/3"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("2"));
+    }
+
+    private static XmlSuite suite(XmlClass xmlClass) {
+        XmlSuite suite = new XmlSuite();
+        XmlTest test = new XmlTest(suite);
+        test.setName(TEST);
+        test.setXmlClasses(List.of(xmlClass));
+        return suite;
+    }
+
+    /**
+     * A testng-results.xml with one passed run of each named method of {@link Timed}.
+     */
+    private static DurationHistory history(Object... methodsAndDurations) throws IOException {
+        StringBuilder xml = new StringBuilder("<testng-results><suite><test><class name=\"" + CLASS + "\">");
+        for (int i = 0; i < methodsAndDurations.length; i += 2) {
+            xml.append(String.format("<test-method name=\"%s\" status=\"PASS\" duration-ms=\"%d\"/>",
+                    methodsAndDurations[i], (Integer) methodsAndDurations[i + 1]));
+        }
+        xml.append("<test-method name=\"setUp\" is-config=\"true\" status=\"PASS\" duration-ms=\"99999\"/>");
+        xml.append("</class></test></suite></testng-results>");
+        Path file = Files.createTempFile("testng-results", ".xml");
+        try {
+            Files.writeString(file, xml);
+            return DurationHistory.load(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Only planned, never run; package-private so TestNG does not pick it up as a nested test class.
+     */
+    static class Timed {
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void b() {
+        }
+
+        @Test
+        public void c() {
+        }
+
+        @Test
+        public void d() {
+        }
+
+        @Test(enabled = false)
+        public void disabled() {
+        }
+
+        public void helper() {
+        }
+    }
+}
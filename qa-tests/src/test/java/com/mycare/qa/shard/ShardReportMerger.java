@@ -0,0 +1,107 @@
+package com.mycare.qa.shard;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Merges the testng-results.xml of every shard into a single file. Each shard's suite element is kept as is and
+ * tagged with the shard it came from, and the totals are summed. The merged file is also what the next sharded
+ * run reads its method durations from.
+ *
+ * <pre>java -cp target/test-classes com.mycare.qa.shard.ShardReportMerger target/shards target/surefire-reports</pre>
+ */
+public final class ShardReportMerger {
+    private static final String RESULTS = "testng-results.xml";
+    private static final String[] COUNTERS = {"total", "passed", "failed", "skipped", "ignored"};
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path shardsDir = Paths.get(args.length > 0 ? args[0] : "target/shards");
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : "target/surefire-reports");
+        Document merged = merge(shardsDir);
+        Files.createDirectories(outputDir);
+        Path output = outputDir.resolve(RESULTS);
+        write(merged, output);
+
+        Element root = merged.getDocumentElement();
+        System.out.printf("Merged shard results into %s: %s total, %s passed, %s failed, %s skipped%n", output,
+                root.getAttribute("total"), root.getAttribute("passed"), root.getAttribute("failed"),
+                root.getAttribute("skipped"));
+    }
+
+    public static Document merge(Path shardsDir) throws Exception {
+        List<Path> results;
+        try (Stream<Path> files = Files.walk(shardsDir, 2)) {
+            results = files.filter(path -> path.getFileName().toString().equals(RESULTS)).sorted().toList();
+        }
+        if (results.isEmpty()) {
+            throw new IOException("No " + RESULTS + " found under " + shardsDir.toAbsolutePath());
+        }
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+
+        Document merged = builder.newDocument();
+        Element root = merged.createElement("testng-results");
+        merged.appendChild(root);
+        long[] totals = new long[COUNTERS.length];
+
+        for (Path file : results) {
+            Element shardRoot = builder.parse(file.toFile()).getDocumentElement();
+            for (int i = 0; i < COUNTERS.length; i++) {
+                String value = shardRoot.getAttribute(COUNTERS[i]);
+                totals[i] += value.isEmpty() ? 0 : Long.parseLong(value);
+            }
+            String shard = file.getParent().getFileName().toString();
+            NodeList suites = shardRoot.getElementsByTagName("suite");
+            for (int i = 0; i < suites.getLength(); i++) {
+                Element suite = (Element) merged.importNode(suites.item(i), true);
+                suite.setAttribute("shard", shard);
+                root.appendChild(suite);
+            }
+        }
+        for (int i = 0; i < COUNTERS.length; i++) {
+            root.setAttribute(COUNTERS[i], Long.toString(totals[i]));
+        }
+        stripWhitespace(root);
+        return merged;
+    }
+
+    private static void write(Document document, Path output) throws Exception {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+        transformer.transform(new DOMSource(document), new StreamResult(output.toFile()));
+    }
+
+    private static void stripWhitespace(Node node) {
+        NodeList children = node.getChildNodes();
+        for (int i = children.getLength() - 1; i >= 0; i--) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.TEXT_NODE && child.getTextContent().isBlank()) {
+                node.removeChild(child);
+            } else {
+                stripWhitespace(child);
+            }
+        }
+    }
+}
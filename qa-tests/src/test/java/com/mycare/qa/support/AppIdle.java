@@ -0,0 +1,135 @@
+package com.mycare.qa.support;
+
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.driver.Cdp;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Waits until the app has settled: no fetch or XHR in flight (axios in src/services/api.ts goes through XHR),
+ * no pending animation frame callbacks, the document loaded and no DOM mutation or request activity for
+ * idle.quiet.ms. The whole wait runs inside the page as one async script, so it ends within a frame of the app
+ * going idle rather than on the next poll.
+ *
+ * <p>The probe is registered with CDP to run before the app's own scripts on every page load. Browsers without
+ * CDP get it injected on the first wait, so requests already in flight at that moment are not seen.
+ */
+public final class AppIdle {
+    private static final String PROBE = """
+            (function () {
+              if (window.__qaIdle) {
+                return;
+              }
+              var state = window.__qaIdle = {inflight: 0, raf: 0, lastActivity: performance.now()};
+              function touch() {
+                state.lastActivity = performance.now();
+              }
+              var send = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                var finished = false;
+                state.inflight++;
+                touch();
+                this.addEventListener('loadend', function () {
+                  if (!finished) {
+                    finished = true;
+                    state.inflight--;
+                    touch();
+                  }
+                });
+                return send.apply(this, arguments);
+              };
+              if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function () {
+                  state.inflight++;
+                  touch();
+                  return originalFetch.apply(this, arguments).finally(function () {
+                    state.inflight--;
+                    touch();
+                  });
+                };
+              }
+              var raf = window.requestAnimationFrame;
+              var caf = window.cancelAnimationFrame;
+              var pending = {};
+              window.requestAnimationFrame = function (callback) {
+                var id = raf.call(window, function (time) {
+                  if (pending[id]) {
+                    delete pending[id];
+                    state.raf--;
+                  }
+                  callback(time);
+                });
+                pending[id] = true;
+                state.raf++;
+                return id;
+              };
+              window.cancelAnimationFrame = function (id) {
+                if (pending[id]) {
+                  delete pending[id];
+                  state.raf--;
+                }
+                return caf.call(window, id);
+              };
+              new MutationObserver(touch).observe(document,
+                  {childList: true, subtree: true, attributes: true, characterData: true});
+            })();
+            """;
+
+    private static final String AWAIT_SCRIPT = PROBE + """
+            var quietMs = arguments[0], timeoutMs = arguments[1], countRaf = arguments[2];
+            var done = arguments[arguments.length - 1];
+            var state = window.__qaIdle, start = performance.now();
+            (function check() {
+              var now = performance.now();
+              var idle = document.readyState === 'complete' && state.inflight === 0
+                  && (!countRaf || state.raf === 0) && now - state.lastActivity >= quietMs;
+              if (idle || now - start >= timeoutMs) {
+                done({idle: idle, inflight: state.inflight, raf: state.raf, readyState: document.readyState,
+                    quietMs: Math.round(now - state.lastActivity), waitedMs: Math.round(now - start)});
+              } else {
+                setTimeout(check, 10);
+              }
+            })();
+            """;
+
+    private static final Set<WebDriver> INSTALLED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private AppIdle() {
+    }
+
+    /**
+     * Registers the probe for all future page loads of the session; a no-op for browsers without CDP.
+     */
+    public static void install(WebDriver driver) {
+        if (INSTALLED.contains(driver)) {
+            return;
+        }
+        Cdp.devTools(driver).ifPresent(devTools -> {
+            Cdp.send(devTools, "Page.enable", Map.of());
+            Cdp.send(devTools, "Page.addScriptToEvaluateOnNewDocument", Map.of("source", PROBE));
+            INSTALLED.add(driver);
+        });
+    }
+
+    public static void await(WebDriver driver, Duration timeout) {
+        long quietMs = TestProperties.getLong("idle.quiet.ms", 100);
+        boolean countRaf = TestProperties.getBoolean("idle.raf", true);
+        // Leave headroom below the session's script timeout (30 s by default)
+        long timeoutMs = Math.min(timeout.toMillis(), 25_000);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(AWAIT_SCRIPT, quietMs, timeoutMs, countRaf);
+        if (!Boolean.TRUE.equals(state.get("idle"))) {
+            throw new TimeoutException("App did not go idle within " + timeoutMs + " ms: " + state);
+        }
+    }
+}
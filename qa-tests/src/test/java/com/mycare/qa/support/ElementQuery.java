@@ -0,0 +1,129 @@
+package com.mycare.qa.support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads presence, visibility, enabled state and text for a whole set of data-testid elements in one injected
+ * script call instead of one WebDriver round trip per element and property.
+ *
+ * <p>Elements are not cached between calls: proving a cached reference is still attached costs the same one round
+ * trip as a fresh snapshot, so {@link #element} always takes one.
+ */
+public class ElementQuery {
+    private static final String SNAPSHOT_SCRIPT = """
+            var ids = arguments[0];
+            var states = {};
+            ids.forEach(function (id) {
+              var el = document.querySelector('[data-testid="' + CSS.escape(id) + '"]');
+              if (!el) {
+                return;
+              }
+              var style = getComputedStyle(el);
+              var rect = el.getBoundingClientRect();
+              states[id] = {
+                element: el,
+                visible: style.display !== 'none' && style.visibility !== 'hidden'
+                    && Number(style.opacity) !== 0 && rect.width > 0 && rect.height > 0,
+                enabled: !el.disabled && el.getAttribute('aria-disabled') !== 'true',
+                text: ('value' in el && el.tagName !== 'BUTTON' ? el.value : el.innerText || '').trim()
+              };
+            });
+            return states;
+            """;
+
+    private final WebDriver driver;
+    private final WaitEngine wait;
+
+    public ElementQuery(WebDriver driver) {
+        this(driver, new WaitEngine(driver));
+    }
+
+    public ElementQuery(WebDriver driver, WaitEngine wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    public ElementSnapshot snapshot(String... testIds) {
+        return snapshot(Arrays.asList(testIds));
+    }
+
+    @SuppressWarnings("unchecked")
+    public ElementSnapshot snapshot(Collection<String> testIds) {
+        Map<String, Map<String, Object>> found = (Map<String, Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, List.copyOf(testIds));
+
+        Map<String, ElementSnapshot.State> states = new LinkedHashMap<>();
+        for (String testId : testIds) {
+            Map<String, Object> raw = found.get(testId);
+            states.put(testId, raw == null ? ElementSnapshot.State.absent(testId)
+                    : new ElementSnapshot.State(testId, true, Boolean.TRUE.equals(raw.get("visible")),
+                            Boolean.TRUE.equals(raw.get("enabled")), (String) raw.get("text"),
+                            (WebElement) raw.get("element")));
+        }
+        return new ElementSnapshot(states);
+    }
+
+    /**
+     * Polls snapshots until the condition holds and returns the last one, or throws once the timeout has passed.
+     * When the page is already in the expected state this is a single round trip.
+     */
+    public ElementSnapshot await(Collection<String> testIds, Predicate<ElementSnapshot> condition, Duration timeout) {
+        ElementSnapshot first = snapshot(testIds);
+        if (condition.test(first)) {
+            return first;
+        }
+        ElementSnapshot[] last = {first};
+        try {
+            return wait.until(d -> {
+                last[0] = snapshot(testIds);
+                return condition.test(last[0]) ? last[0] : null;
+            }, timeout);
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms, last state: " + last[0], e);
+        }
+    }
+
+    /**
+     * Waits until every element is present and returns the snapshot; missing elements show up as not present
+     * instead of throwing, so callers can assert on each of them.
+     */
+    public ElementSnapshot awaitPresent(Collection<String> testIds) {
+        try {
+            return await(testIds, ElementSnapshot::allPresent, wait.getTimeout());
+        } catch (TimeoutException e) {
+            return snapshot(testIds);
+        }
+    }
+
+    /**
+     * The element for the test id once it is visible; a single round trip when it already is.
+     */
+    public WebElement element(String testId) {
+        return await(List.of(testId), snapshot -> snapshot.isVisible(testId), wait.getTimeout()).get(testId).element();
+    }
+
+    /**
+     * Runs the action on the element. The element is current when handed out; a re-render between that check and
+     * the action can still detach it, in which case it is looked up once more.
+     */
+    public void act(String testId, Consumer<WebElement> action) {
+        try {
+            action.accept(element(testId));
+        } catch (StaleElementReferenceException e) {
+            action.accept(element(testId));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycare.qa.support;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a set of data-testid elements as read by one {@link ElementQuery} script call.
+ */
+public final class ElementSnapshot {
+    private final Map<String, State> states;
+
+    ElementSnapshot(Map<String, State> states) {
+        this.states = Collections.unmodifiableMap(states);
+    }
+
+    public State get(String testId) {
+        State state = states.get(testId);
+        if (state == null) {
+            throw new IllegalArgumentException("Snapshot does not include " + testId + ", only " + states.keySet());
+        }
+        return state;
+    }
+
+    public boolean isPresent(String testId) {
+        return get(testId).present();
+    }
+
+    public boolean isVisible(String testId) {
+        return get(testId).visible();
+    }
+
+    public boolean isEnabled(String testId) {
+        return get(testId).enabled();
+    }
+
+    public String getText(String testId) {
+        return get(testId).text();
+    }
+
+    public boolean allPresent() {
+        return states.values().stream().allMatch(State::present);
+    }
+
+    public boolean allVisible() {
+        return states.values().stream().allMatch(State::visible);
+    }
+
+    public List<String> missing() {
+        List<String> missing = new ArrayList<>();
+        states.forEach((testId, state) -> {
+            if (!state.present()) {
+                missing.add(testId);
+            }
+        });
+        return missing;
+    }
+
+    @Override
+    public String toString() {
+        return states.values().toString();
+    }
+
+    public record State(String testId, boolean present, boolean visible, boolean enabled, String text,
+                        WebElement element) {
+
+        static State absent(String testId) {
+            return new State(testId, false, false, false, null, null);
+        }
+
+        @Override
+        public String toString() {
+            return present ? testId + (visible ? "" : " (hidden)") + (enabled ? "" : " (disabled)") : testId + " (absent)";
+        }
+    }
+}
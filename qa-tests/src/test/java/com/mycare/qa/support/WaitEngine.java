@@ -0,0 +1,137 @@
+package com.mycare.qa.support;
+
+import com.mycare.qa.config.TestProperties;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * The one place tests and page objects wait for the browser. Sessions run without an implicit wait,
+ * so element lookups return immediately and every wait polls on a short, configurable interval.
+ */
+public class WaitEngine {
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration polling;
+
+    public WaitEngine(WebDriver driver) {
+        this(driver, defaultTimeout(), defaultPolling());
+    }
+
+    public WaitEngine(WebDriver driver, Duration timeout, Duration polling) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.polling = polling;
+    }
+
+    public static Duration defaultTimeout() {
+        return Duration.ofMillis(TestProperties.getLong("wait.timeout.ms", 10000));
+    }
+
+    public static Duration defaultPolling() {
+        return Duration.ofMillis(TestProperties.getLong("wait.polling.ms", 50));
+    }
+
+    /**
+     * Returns a copy of this engine with a different default timeout.
+     */
+    public WaitEngine withTimeout(Duration timeout) {
+        return new WaitEngine(driver, timeout, polling);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, timeout);
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        return new FluentWait<>(driver)
+                .withTimeout(timeout)
+                .pollingEvery(polling)
+                .ignoring(NoSuchElementException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .until(condition);
+    }
+
+    /**
+     * Waits until requests, animation frames and DOM mutations have settled; see {@link AppIdle}.
+     */
+    public void appIdle() {
+        appIdle(timeout);
+    }
+
+    public void appIdle(Duration timeout) {
+        AppIdle.await(driver, timeout);
+    }
+
+    public WebElement visible(By locator) {
+        return visible(locator, timeout);
+    }
+
+    public WebElement visible(By locator, Duration timeout) {
+        return until(ExpectedConditions.visibilityOfElementLocated(locator), timeout);
+    }
+
+    public WebElement clickable(By locator) {
+        return clickable(locator, timeout);
+    }
+
+    public WebElement clickable(By locator, Duration timeout) {
+        return until(ExpectedConditions.elementToBeClickable(locator), timeout);
+    }
+
+    public void invisible(By locator) {
+        invisible(locator, timeout);
+    }
+
+    public void invisible(By locator, Duration timeout) {
+        until(ExpectedConditions.invisibilityOfElementLocated(locator), timeout);
+    }
+
+    public boolean isPresent(By locator) {
+        return isPresent(locator, timeout);
+    }
+
+    /**
+     * True as soon as the element is in the DOM; false only once the timeout has passed without it.
+     */
+    public boolean isPresent(By locator, Duration timeout) {
+        if (!driver.findElements(locator).isEmpty()) {
+            return true;
+        }
+        try {
+            return until(d -> !d.findElements(locator).isEmpty() ? Boolean.TRUE : null, timeout);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    public boolean isAbsent(By locator) {
+        return isAbsent(locator, timeout);
+    }
+
+    /**
+     * True as soon as the element is gone from the DOM; false only once the timeout has passed with it still there.
+     */
+    public boolean isAbsent(By locator, Duration timeout) {
+        if (driver.findElements(locator).isEmpty()) {
+            return true;
+        }
+        try {
+            return until(d -> d.findElements(locator).isEmpty() ? Boolean.TRUE : null, timeout);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
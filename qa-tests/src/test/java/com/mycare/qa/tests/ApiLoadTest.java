@@ -0,0 +1,102 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.api.SessionFactory;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.data.Fixture;
+import com.mycare.qa.data.TestDataFactory;
+import com.mycare.qa.load.ApiLoadGenerator;
+import com.mycare.qa.load.ApiScenario;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Steps the arrival rate of a recorded API scenario up until the Express API saturates. Arrivals take turns over
+ * load.api.users seeded accounts, each joining its own bulk order whose target cannot be reached, so errors come
+ * from capacity rather than from a closed order or a single hot account. Seeded accounts cannot log in with a
+ * password, so the scenario's login step takes turns over load.api.accounts instead, accounts that can, e.g. users
+ * from the dump/mycare baseline:
+ * mvn test -Papi-load -Dload.api.users=50 -Dload.api.accounts=commonuser@mail.com:secret
+ */
+public class ApiLoadTest {
+    // Joins add one each, so the order stays open for the whole run
+    private static final int UNREACHABLE_TARGET = 1_000_000_000;
+
+    @Test
+    public void testApiSaturationPoint() {
+        ApiScenario scenario = ApiScenario.load(TestProperties.get("load.api.scenario", "load/api-scenario.json"));
+        ApiLoadGenerator.Config config = ApiLoadGenerator.Config.fromProperties();
+        assertTrue(new ApiLoadGenerator(scenario, config).isApiUp(), "API health check failed, is the server running?");
+
+        List<Map<String, String>> accounts = loginAccounts(scenario, config);
+
+        int userCount = TestProperties.getInt("load.api.users", 20);
+        TestDataFactory factory = TestDataFactory.get(1);
+        ApiLoadGenerator.Result result;
+        try {
+            List<Map<String, String>> users = new ArrayList<>();
+            List<Fixture> fixtures = userCount > 0 ? factory.createFixtures(userCount) : List.of();
+            for (int i = 0; i < fixtures.size(); i++) {
+                Fixture user = fixtures.get(i);
+                // The token serves the steps after login when the run opts out of it; login replaces it otherwise
+                Map<String, String> variables = new HashMap<>(Map.of(
+                        "token", user.token(),
+                        "communityId", user.communityId(),
+                        "bulkOrderId", factory.createBulkOrder(user, UNREACHABLE_TARGET)));
+                if (!accounts.isEmpty()) {
+                    variables.putAll(accounts.get(i % accounts.size()));
+                }
+                users.add(variables);
+            }
+            if (users.isEmpty()) {
+                users.addAll(accounts);
+            }
+            result = new ApiLoadGenerator(scenario, config, users).run();
+        } finally {
+            factory.cleanup();
+        }
+        System.out.println("API load report: " + result.writeJson("api-load-report.json")
+                + ", " + result.writeHtml("api-load-report.html"));
+        System.out.println("Highest arrival rate without saturation: " + result.saturationFreeRate() + "/s");
+
+        List<String> broken = result.brokenStages();
+        assertTrue(broken.isEmpty(), "Load run measured failing requests rather than capacity: "
+                + String.join("; ", broken));
+
+        int requiredRate = TestProperties.getInt("load.api.required.rate", 0);
+        assertTrue(result.saturationFreeRate() >= requiredRate,
+                "API saturated below the required " + requiredRate + " arrivals/s");
+    }
+
+    /**
+     * The load.api.accounts pool (email:password, comma-separated) the login step takes turns over, each checked
+     * with one login up front so a wrong password fails here rather than as a stage of 401s. Without a pool the
+     * login step needs load.api.var.email and load.api.var.password, or an explicit load.api.skip.steps=login.
+     */
+    private static List<Map<String, String>> loginAccounts(ApiScenario scenario, ApiLoadGenerator.Config config) {
+        List<Map<String, String>> accounts = new ArrayList<>();
+        for (String entry : TestProperties.get("load.api.accounts", "").split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                accounts.add(Map.of(
+                        "email", entry.substring(0, separator).trim(),
+                        "password", entry.substring(separator + 1).trim()));
+            }
+        }
+        accounts.forEach(account -> SessionFactory.sessionFor(account.get("email"), account.get("password")));
+
+        scenario.stepExtracting("token")
+                .filter(login -> !config.skippedSteps().contains(login.name()))
+                .ifPresent(login -> assertTrue(!accounts.isEmpty()
+                                || config.variables().keySet().containsAll(login.variables()),
+                        "Scenario step " + login.name() + " needs accounts that can log in: set load.api.accounts or"
+                                + " load.api.var.email/password, or opt out with -Dload.api.skip.steps="
+                                + login.name()));
+        return accounts;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.api.SessionFactory;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.data.Fixture;
+import com.mycare.qa.data.TestDataFactory;
+import com.mycare.qa.load.BrowserLoadRunner;
+import com.mycare.qa.pages.BulkOrderPage;
+import com.mycare.qa.pages.CommunityPage;
+import com.mycare.qa.pages.NavigationPage;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Concurrent user load through the real React client. Every virtual user signs in as its own seeded account, but all
+ * of them join and order in one community and join one bulk order, so its documents are contended the way a busy
+ * community's are. Run with the browser-load Maven profile: mvn test -Pbrowser-load -Dload.browser.users=50
+ */
+public class BrowserLoadTest {
+
+    @Test
+    @Parameters({"app.url"})
+    public void testConcurrentMembersLoginAndBulkOrder(String appUrl) {
+        boolean submitOrders = TestProperties.getBoolean("load.browser.submit.orders", false);
+        BrowserLoadRunner.Config config = BrowserLoadRunner.Config.fromProperties(appUrl);
+
+        // One account per virtual user, so wallets and carts are not shared, plus one more that owns the common
+        // community and a bulk order whose target load cannot reach, so joins keep succeeding. The owner is not a
+        // virtual user: the community page offers its creator no join or leave, only Edit and Delete
+        TestDataFactory factory = TestDataFactory.get(1);
+        List<Fixture> accounts = factory.createFixtures(config.users() + 1);
+        Fixture owner = accounts.get(0);
+        List<Fixture> members = accounts.subList(1, accounts.size());
+        ApiClient api = new ApiClient();
+        BrowserLoadRunner.Result result;
+        try {
+            String bulkOrderId = factory.createBulkOrder(owner, Integer.MAX_VALUE);
+            result = new BrowserLoadRunner(config).run(session -> {
+                Fixture member = members.get(session.user());
+                // Seeded accounts cannot log in with a password, so the login step seeds their registration session
+                session.time("login", () -> SessionFactory.loginAs(session.driver(), member.session()));
+
+                NavigationPage navigationPage = new NavigationPage(session.driver());
+                session.time("openProfile", navigationPage::navigateToProfile);
+
+                CommunityPage communityPage = new CommunityPage(session.driver());
+                session.time("openCommunity", () -> communityPage.open(appUrl, owner.communityId()));
+                if (!communityPage.isMember()) {
+                    session.time("joinCommunity", communityPage::clickJoinButton);
+                }
+                // The client has no way to join an existing bulk order, so this step goes straight to the API
+                session.time("joinBulkOrder", () -> {
+                    ApiClient.Response response = api.post("/bulk-orders/" + bulkOrderId + "/join",
+                            Map.of("quantity", 1), member.token());
+                    if (!response.isSuccess()) {
+                        throw new IllegalStateException("Bulk order join failed (HTTP " + response.status() + "): "
+                                + response.body());
+                    }
+                });
+                if (communityPage.isMember()) {
+                    BulkOrderPage bulkOrderPage = session.time("openBulkOrder", communityPage::openPlaceOrder);
+                    if (submitOrders && bulkOrderPage.getProductCount() > 0) {
+                        bulkOrderPage.setQuantity(0, 1);
+                        session.time("submitBulkOrder", bulkOrderPage::submitOrder);
+                    }
+                }
+            });
+        } finally {
+            factory.cleanup();
+        }
+
+        result.print();
+        System.out.println("Browser load report: " + result.write("browser-load-report.json"));
+
+        double maxErrorRate = Double.parseDouble(TestProperties.get("load.browser.max.error.pct", "5"));
+        assertTrue(result.iterations() > 0, "No load iteration completed");
+        assertTrue(result.maxErrorRatePct() <= maxErrorRate,
+                "Error rate " + result.maxErrorRatePct() + "% exceeds " + maxErrorRate + "%");
+    }
+}
@@ -0,0 +1,240 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.api.ApiClient;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.data.Fixture;
+import com.mycare.qa.data.MongoShell;
+import com.mycare.qa.data.TestDataFactory;
+import com.mycare.qa.load.ContentionRunner;
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Thousands of concurrent writes against one wallet, bulk order or community, followed by correctness checks on
+ * what the server kept. Uses its own seeded users and needs a replica-set MongoDB, since the wallet routes run in
+ * transactions, and mongosh (db.mongosh, db.uri, db.name) to read bulk orders back. Run with the contention Maven
+ * profile: mvn test -Pcontention -Dcontention.requests=5000
+ */
+public class ContentionTest {
+    private static final Json JSON = new Json();
+
+    private final ApiClient api = new ApiClient();
+    private ContentionRunner runner;
+    private TestDataFactory factory;
+    private List<Fixture> users;
+    private MongoShell mongo;
+
+    @BeforeClass
+    public void seedUsers() {
+        runner = new ContentionRunner(ContentionRunner.Config.fromProperties());
+        factory = TestDataFactory.get(1);
+        users = factory.createFixtures(runner.config().users());
+        mongo = new MongoShell(TestProperties.get("db.mongosh", "mongosh"),
+                TestProperties.get("db.uri", "mongodb://localhost:27017"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        if (runner != null) {
+            System.out.println("Contention report: " + runner.write("contention-report.json"));
+        }
+        if (factory != null) {
+            factory.cleanup();
+        }
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @Test
+    public void testWalletBalanceMatchesTransactions() {
+        Fixture owner = users.get(0);
+        int requests = runner.config().requests();
+        long before = balance(owner);
+
+        ContentionRunner.Burst adds = runner.burst("walletAdd", requests,
+                i -> new ContentionRunner.Call("/wallet/add", Map.of("amount", 1), owner.token()));
+        long afterAdds = balance(owner);
+        runner.checkLostUpdates("walletAdd", adds.successes(), before + adds.successes(), afterAdds);
+
+        ContentionRunner.Burst withdrawals = runner.burst("walletWithdraw", requests,
+                i -> new ContentionRunner.Call("/wallet/withdraw", Map.of("amount", 1), owner.token()));
+        long afterWithdrawals = balance(owner);
+        runner.check("walletWithdraw", "no overdraft", afterWithdrawals >= 0 && withdrawals.successes() <= afterAdds,
+                withdrawals.successes() + " withdrawals of 1 from a balance of " + afterAdds + ", final "
+                        + afterWithdrawals);
+        // A lost withdrawal leaves the balance higher than expected, so compare the other way round
+        runner.checkLostUpdates("walletWithdraw", withdrawals.successes(), afterWithdrawals,
+                afterAdds - withdrawals.successes());
+
+        long ledger = ledgerBalance(owner);
+        runner.check("wallet", "final balance equals the sum of completed transactions", ledger == afterWithdrawals,
+                "balance " + afterWithdrawals + ", transactions sum to " + ledger);
+
+        assertNoViolations("wallet");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkOrderJoinHasNoDuplicateParticipants() {
+        Fixture owner = users.get(0);
+        List<Fixture> joiners = users.subList(1, users.size());
+        // A target no burst can reach keeps the order open, so every join is a write to account for
+        String bulkOrderId = factory.createBulkOrder(owner, Integer.MAX_VALUE);
+        long initialQuantity = currentQuantity(bulkOrder(bulkOrderId));
+
+        // One join on its own first, so a join that never persists is reported as that and not as a race
+        ApiClient.Response probe = api.post("/bulk-orders/" + bulkOrderId + "/join", Map.of("quantity", 1),
+                joiners.get(0).token());
+        assertTrue(probe.isSuccess(), "Failed to join bulk order: HTTP " + probe.status());
+        long probedQuantity = currentQuantity(bulkOrder(bulkOrderId));
+        assertEquals(probedQuantity, initialQuantity + 1,
+                "Join does not persist quantity: a single join left products[0].currentQuantity at "
+                        + probedQuantity);
+
+        ContentionRunner.Burst joins = runner.burst("bulkOrderJoin", runner.config().requests(),
+                i -> new ContentionRunner.Call("/bulk-orders/" + bulkOrderId + "/join", Map.of("quantity", 1),
+                        joiners.get(i % joiners.size()).token()));
+
+        Map<String, Object> bulkOrder = bulkOrder(bulkOrderId);
+        long currentQuantity = currentQuantity(bulkOrder);
+        long participantQuantity = ((Number) bulkOrder.get("participantQuantity")).longValue();
+        List<String> participantIds = (List<String>) bulkOrder.get("participants");
+
+        // Every acknowledged join adds 1, including a repeat join by the same user
+        runner.checkLostUpdates("bulkOrderJoin", joins.successes(), probedQuantity + joins.successes(),
+                currentQuantity);
+        runner.check("bulkOrderJoin", "participant quantities sum to the current quantity",
+                participantQuantity == currentQuantity,
+                "participants hold " + participantQuantity + ", current quantity " + currentQuantity);
+        checkMembership("bulkOrderJoin", "participant", joiners, joins, participantIds);
+        assertNoViolations("bulkOrderJoin");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommunityJoinHasNoDuplicateMembers() {
+        Fixture owner = users.get(0);
+        List<Fixture> joiners = users.subList(1, users.size());
+        ContentionRunner.Burst joins = runner.burst("communityJoin", runner.config().requests(),
+                i -> new ContentionRunner.Call("/communities/" + owner.communityId() + "/join", Map.of(),
+                        joiners.get(i % joiners.size()).token()));
+
+        ApiClient.Response response = api.get("/communities/" + owner.communityId(), owner.token());
+        assertTrue(response.isSuccess(), "Failed to read community: HTTP " + response.status());
+        Map<String, Object> community = (Map<String, Object>) response.json().get("data");
+        List<String> members = ((List<Object>) community.get("members")).stream()
+                .map(member -> member instanceof Map ? ((Map<String, Object>) member).get("_id") : member)
+                .map(String::valueOf)
+                .toList();
+
+        checkMembership("communityJoin", "member", joiners, joins, members);
+        // Each user can only become a member once; a second 200 means two requests both passed the membership check
+        Map<String, Integer> successesPerUser = new HashMap<>();
+        for (int i = 0; i < joins.responses().size(); i++) {
+            if (joins.responses().get(i).isSuccess()) {
+                successesPerUser.merge(joiners.get(i % joiners.size()).userId(), 1, Integer::sum);
+            }
+        }
+        long raced = successesPerUser.values().stream().filter(count -> count > 1).count();
+        runner.check("communityJoin", "at most one successful join per user", raced == 0,
+                raced + " of " + joiners.size() + " users were told they joined more than once");
+        assertNoViolations("communityJoin");
+    }
+
+    /**
+     * Everyone the server acknowledged is present exactly once.
+     */
+    private void checkMembership(String scenario, String role, List<Fixture> joiners, ContentionRunner.Burst joins,
+                                 List<String> recorded) {
+        Set<String> acknowledged = new HashSet<>();
+        for (int i = 0; i < joins.responses().size(); i++) {
+            if (joins.responses().get(i).isSuccess()) {
+                acknowledged.add(joiners.get(i % joiners.size()).userId());
+            }
+        }
+        Set<String> distinct = new HashSet<>(recorded);
+        runner.check(scenario, "no duplicate " + role + "s", distinct.size() == recorded.size(),
+                recorded.size() + " " + role + " entries for " + distinct.size() + " users");
+        long present = acknowledged.stream().filter(distinct::contains).count();
+        runner.checkLostUpdates(scenario, acknowledged.size(), acknowledged.size(), present);
+    }
+
+    private void assertNoViolations(String scenario) {
+        List<String> violations = runner.violations().stream()
+                .filter(violation -> violation.startsWith(scenario))
+                .toList();
+        assertTrue(violations.isEmpty(), String.join("; ", violations));
+    }
+
+    /**
+     * Reads one bulk order straight from the database, reduced to its product's current quantity, the sum of the
+     * participants' quantities and the participants' user ids. The GET /bulk-orders list is no use here: it
+     * populates a product path the schema does not have and answers 500.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> bulkOrder(String bulkOrderId) {
+        List<String> output = mongo.eval("(function () { const o = db.getSiblingDB("
+                + quote(TestProperties.get("db.name", "mycare")) + ").bulkorders.findOne({_id: ObjectId("
+                + quote(bulkOrderId) + ")}); print(JSON.stringify(o && {currentQuantity: o.products[0].currentQuantity,"
+                + " participantQuantity: o.participants.flatMap(p => p.quantities || [])"
+                + ".reduce((sum, q) => sum + q.quantity, 0),"
+                + " participants: o.participants.filter(p => p.user).map(p => p.user.toHexString())})); })()");
+        Map<String, Object> bulkOrder = output.isEmpty() ? null : JSON.toType(output.get(output.size() - 1), Map.class);
+        if (bulkOrder == null) {
+            throw new AssertionError("Bulk order " + bulkOrderId + " not found");
+        }
+        return bulkOrder;
+    }
+
+    /**
+     * The ordered quantity of the bulk order's product; createBulkOrder orders a single product.
+     */
+    private static long currentQuantity(Map<String, Object> bulkOrder) {
+        return ((Number) bulkOrder.get("currentQuantity")).longValue();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private long balance(Fixture user) {
+        ApiClient.Response response = api.get("/wallet/balance", user.token());
+        assertTrue(response.isSuccess(), "Failed to read wallet balance: HTTP " + response.status());
+        return ((Number) response.json().get("balance")).longValue();
+    }
+
+    /**
+     * Completed credits minus completed debits, read through the paginated transaction history.
+     */
+    @SuppressWarnings("unchecked")
+    private long ledgerBalance(Fixture user) {
+        long sum = 0;
+        for (int page = 1; ; page++) {
+            ApiClient.Response response = api.get("/wallet/transactions?limit=500&page=" + page, user.token());
+            assertTrue(response.isSuccess(), "Failed to read transactions: HTTP " + response.status());
+            List<Map<String, Object>> transactions = (List<Map<String, Object>>) response.json().get("transactions");
+            for (Map<String, Object> transaction : transactions) {
+                if (Objects.equals(transaction.get("status"), "completed")) {
+                    long amount = ((Number) transaction.get("amount")).longValue();
+                    sum += "debit".equals(transaction.get("type")) ? -amount : amount;
+                }
+            }
+            if (transactions.size() < 500) {
+                return sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.config.TestBase;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.data.ScaleDataset;
+import com.mycare.qa.perf.ScaleBenchmark;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Growth curves of the list endpoints and pages over synthetic catalogues of 1k to 1M documents. Writes directly
+ * to db.name, so the backend must run against a local MongoDB it may fill. Run with the data-scale Maven profile:
+ * mvn test -Pdata-scale -Dscale.sizes=1000,10000,100000
+ */
+public class DataScaleTest extends TestBase {
+
+    @Test
+    public void testListEndpointsScaleWithCollectionSize() {
+        loginAsFixtureUser();
+        ScaleBenchmark.Result result;
+        try (ScaleDataset dataset = new ScaleDataset()) {
+            try {
+                result = new ScaleBenchmark(getDriver(), appUrl, fixture().token(),
+                        ScaleBenchmark.Config.fromProperties()).run(dataset);
+            } finally {
+                if (TestProperties.getBoolean("data.cleanup", true)) {
+                    dataset.remove();
+                }
+            }
+        }
+
+        result.print();
+        System.out.println("Scale curve: " + result.write());
+        if (TestProperties.get("scale.mode", "warn").equalsIgnoreCase("fail")) {
+            assertTrue(result.problems().isEmpty(), String.join("; ", result.problems()));
+        }
+    }
+}
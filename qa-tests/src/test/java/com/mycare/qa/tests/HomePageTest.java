@@ -1,39 +1,35 @@
 package com.mycare.qa.tests;
 
 import com.mycare.qa.config.TestBase;
+import com.mycare.qa.mock.StubbedBackend;
 import com.mycare.qa.pages.HomePage;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.ContextConfiguration;
+import com.mycare.qa.pages.NavigationPage;
+import com.mycare.qa.perf.PerfBudget;
+import com.mycare.qa.support.ElementSnapshot;
 import org.testng.annotations.BeforeMethod;
-import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
-import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
-import static org.testng.Assert.assertFalse;
-import org.openqa.selenium.By;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.TimeoutException;
 
-@SpringBootTest
-@ContextConfiguration(classes = com.mycare.qa.config.TestConfig.class)
+@StubbedBackend
 public class HomePageTest extends TestBase {
-    private HomePage homePage;
+    private final ThreadLocal<HomePage> homePage = new ThreadLocal<>();
 
     @BeforeMethod
-    @Parameters({"browser", "app.url"})
-    public void setUp(String browser, String appUrl) {
-        super.setUp(browser, appUrl);
-        homePage = new HomePage(driver);
+    public void initPages() {
+        homePage.set(new HomePage(getDriver()));
     }
 
     @Test
+    @PerfBudget(label = "initialLoad", metric = "lcp", max = 1500)
     public void testInitialPageLoad() {
+        ElementSnapshot page = awaitElements("page-title", "login-button", "signup-button");
+
         // Verify page title is present
-        assertTrue(isElementPresent("[data-testid='page-title']"), "Page title should be present");
+        assertTrue(page.isPresent("page-title"), "Page title should be present");
         
         // Verify login and signup buttons are present
-        assertTrue(isElementPresent("[data-testid='login-button']"), "Login button should be present");
-        assertTrue(isElementPresent("[data-testid='signup-button']"), "Signup button should be present");
+        assertTrue(page.isPresent("login-button"), "Login button should be present");
+        assertTrue(page.isPresent("signup-button"), "Signup button should be present");
     }
 
     @Test
@@ -42,16 +38,17 @@ public class HomePageTest extends TestBase {
         clickElement("[data-testid='login-button']");
         
         // Verify all login form elements are present
-        assertTrue(isElementPresent("[data-testid='email-input']"), "Email input should be present");
-        assertTrue(isElementPresent("[data-testid='password-input']"), "Password input should be present");
-        assertTrue(isElementPresent("[data-testid='submit-button']"), "Submit button should be present");
-        assertTrue(isElementPresent("[data-testid='close-modal-button']"), "Close modal button should be present");
+        ElementSnapshot modal = homePage.get().awaitLoginModal();
+        assertTrue(modal.isPresent("email-input"), "Email input should be present");
+        assertTrue(modal.isPresent("password-input"), "Password input should be present");
+        assertTrue(modal.isPresent("submit-button"), "Submit button should be present");
+        assertTrue(modal.isPresent("close-modal-button"), "Close modal button should be present");
         
         // Close the modal
         clickElement("[data-testid='close-modal-button']");
         
         // Verify modal is closed
-        assertFalse(isElementPresent("[data-testid='email-input']"), "Login modal should be closed");
+        assertTrue(isElementAbsent("[data-testid='email-input']"), "Login modal should be closed");
     }
 
     @Test
@@ -60,26 +57,28 @@ public class HomePageTest extends TestBase {
         clickElement("[data-testid='signup-button']");
         
         // Verify all signup form elements are present
-        assertTrue(isElementPresent("[data-testid='email-input']"), "Email input should be present");
-        assertTrue(isElementPresent("[data-testid='password-input']"), "Password input should be present");
-        assertTrue(isElementPresent("[data-testid='confirm-password-input']"), "Confirm password input should be present");
-        assertTrue(isElementPresent("[data-testid='submit-button']"), "Submit button should be present");
-        assertTrue(isElementPresent("[data-testid='close-modal-button']"), "Close modal button should be present");
+        ElementSnapshot modal = homePage.get().awaitSignupModal();
+        assertTrue(modal.isPresent("email-input"), "Email input should be present");
+        assertTrue(modal.isPresent("password-input"), "Password input should be present");
+        assertTrue(modal.isPresent("confirm-password-input"), "Confirm password input should be present");
+        assertTrue(modal.isPresent("submit-button"), "Submit button should be present");
+        assertTrue(modal.isPresent("close-modal-button"), "Close modal button should be present");
         
         // Close the modal
         clickElement("[data-testid='close-modal-button']");
         
         // Verify modal is closed
-        assertFalse(isElementPresent("[data-testid='email-input']"), "Signup modal should be closed");
+        assertTrue(isElementAbsent("[data-testid='email-input']"), "Signup modal should be closed");
     }
 
     @Test
     public void testNavigationLinks() {
         // Verify all navigation links are present
-        assertTrue(isElementPresent("[data-testid='services-link']"), "Services link should be present");
-        assertTrue(isElementPresent("[data-testid='about-link']"), "About link should be present");
-        assertTrue(isElementPresent("[data-testid='contact-link']"), "Contact link should be present");
-        assertTrue(isElementPresent("[data-testid='home-link']"), "Home link should be present");
+        ElementSnapshot links = new NavigationPage(getDriver()).awaitNavigationLinks();
+        assertTrue(links.isPresent("services-link"), "Services link should be present");
+        assertTrue(links.isPresent("about-link"), "About link should be present");
+        assertTrue(links.isPresent("contact-link"), "Contact link should be present");
+        assertTrue(links.isPresent("home-link"), "Home link should be present");
     }
 
     @Test
@@ -112,58 +111,24 @@ public class HomePageTest extends TestBase {
         clickElement("[data-testid='close-modal-button']");
     }
 
-    @Test
-    public void testSuccessfulLogin() {
-        // Click login button
-        clickElement("[data-testid='login-button']");
-        
-        // Fill in valid credentials
-        driver.findElement(By.cssSelector("[data-testid='email-input']")).sendKeys("test@example.com");
-        driver.findElement(By.cssSelector("[data-testid='password-input']")).sendKeys("Test123!@#");
-        
-        // Submit form
-        clickElement("[data-testid='submit-button']");
-        
-        // Verify success message
-        assertTrue(isElementPresent("[data-testid='success-message']"), "Success message should appear after login");
-        
-        // Verify user menu is visible
-        assertTrue(isElementPresent("[data-testid='user-menu']"), "User menu should be visible after login");
-    }
-
     @Test
     public void testUserMenuElements() {
-        // First login
-        testSuccessfulLogin();
+        // Log in as this thread's own user; the login modal itself is covered by LoginTest
+        loginAsFixtureUser();
+        assertTrue(isElementPresent("[data-testid='user-menu']"), "User menu should be visible after login");
         
         // Click user menu
         clickElement("[data-testid='user-menu']");
         
         // Verify menu items
-        assertTrue(isElementPresent("[data-testid='profile-link']"), "Profile link should be present");
-        assertTrue(isElementPresent("[data-testid='logout-button']"), "Logout button should be present");
+        ElementSnapshot menu = awaitElements("profile-link", "logout-button");
+        assertTrue(menu.isPresent("profile-link"), "Profile link should be present");
+        assertTrue(menu.isPresent("logout-button"), "Logout button should be present");
         
         // Test logout
         clickElement("[data-testid='logout-button']");
         
         // Verify user menu is no longer visible
-        assertFalse(isElementPresent("[data-testid='user-menu']"), "User menu should not be visible after logout");
-    }
-
-    private boolean isElementPresent(String selector) {
-        try {
-            driver.findElement(By.cssSelector(selector));
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    protected void clickElement(String selector) {
-        try {
-            driver.findElement(By.cssSelector(selector)).click();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to click element: " + selector, e);
-        }
+        assertTrue(isElementAbsent("[data-testid='user-menu']"), "User menu should not be visible after logout");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.config.TestBase;
+import com.mycare.qa.config.TestProperties;
+import com.mycare.qa.mock.MockBackend;
+import com.mycare.qa.mock.MockData;
+import com.mycare.qa.perf.PerfBudget;
+import org.openqa.selenium.By;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Logs in through the modal against the real API, so loginSubmit times /api/auth/login itself. Seeded fixture users
+ * cannot log in with a password (see TestDataFactory), so this types the login.email account, which must be one that
+ * can, e.g. a user from the dump/mycare baseline. The same account checks the API login shortcut other tests can use
+ * instead of the modal. Both tests are skipped while login.email is unset.
+ */
+public class LoginTest extends TestBase {
+
+    @Test
+    @PerfBudget(label = "loginSubmit", max = 800)
+    public void testSuccessfulLogin() {
+        boolean stubbed = MockBackend.appliesTo(getClass());
+        if (!stubbed) {
+            requireLoginAccount();
+        }
+
+        // Click login button
+        measure("openLoginModal", () -> {
+            clickElement("[data-testid='login-button']");
+            waitForElementVisible("[data-testid='email-input']");
+        });
+
+        // Fill in the configured account, or the mock user's when mock.backend.mode=all stubs this class too
+        String email = stubbed ? MockData.EMAIL : TestProperties.get("login.email");
+        String password = stubbed ? MockData.PASSWORD : TestProperties.get("login.password");
+        getWait().visible(By.cssSelector("[data-testid='email-input']")).sendKeys(email);
+        getWait().visible(By.cssSelector("[data-testid='password-input']")).sendKeys(password);
+
+        // Submit form
+        measure("loginSubmit", () -> {
+            clickElement("[data-testid='submit-button']");
+            waitForElementVisible("[data-testid='success-message']");
+        });
+
+        // Verify success message
+        assertTrue(isElementPresent("[data-testid='success-message']"), "Success message should appear after login");
+
+        // Verify user menu is visible
+        assertTrue(isElementPresent("[data-testid='user-menu']"), "User menu should be visible after login");
+    }
+
+    @Test
+    public void testApiLoginSeedsSession() {
+        if (!MockBackend.appliesTo(getClass())) {
+            requireLoginAccount();
+        }
+
+        // Log in through POST /api/auth/login and seed the session, skipping the modal
+        loginViaApi(TestProperties.get("login.email"), TestProperties.get("login.password"));
+
+        // Verify the app picked the session up on reload
+        waitForElementVisible("[data-testid='user-menu']");
+        assertTrue(isElementPresent("[data-testid='user-menu']"), "User menu should be visible after API login");
+    }
+
+    /**
+     * Seeded fixture users cannot log in with a password, so without a configured account there is nothing to type.
+     */
+    private static void requireLoginAccount() {
+        if (TestProperties.get("login.email") == null) {
+            throw new SkipException("login.email is not set; point login.email and login.password at an account that"
+                    + " can log in, e.g. a user from the dump/mycare baseline");
+        }
+    }
+}
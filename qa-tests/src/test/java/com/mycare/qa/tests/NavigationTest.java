@@ -1,53 +1,46 @@
 package com.mycare.qa.tests;
 
 import com.mycare.qa.config.TestBase;
+import com.mycare.qa.mock.StubbedBackend;
+import com.mycare.qa.pages.NavigationPage;
 import org.testng.annotations.Test;
-import org.openqa.selenium.By;
 
+@StubbedBackend
 public class NavigationTest extends TestBase {
 
     @Test
     public void testNavigationWhenLoggedOut() {
         // Verify home page title
         waitForElementVisible("[data-testid='page-title']");
+        NavigationPage navigationPage = new NavigationPage(getDriver());
         
         // Test Services link
-        clickElement("[data-testid='services-link']");
-        waitForElementVisible("[data-testid='page-title']");
+        navigationPage.navigateToServices();
         
         // Test About link
-        clickElement("[data-testid='about-link']");
-        waitForElementVisible("[data-testid='page-title']");
+        navigationPage.navigateToAbout();
         
         // Test Contact link
-        clickElement("[data-testid='contact-link']");
-        waitForElementVisible("[data-testid='page-title']");
+        navigationPage.navigateToContact();
         
         // Test Home link
-        clickElement("[data-testid='home-link']");
-        waitForElementVisible("[data-testid='page-title']");
+        navigationPage.navigateToHome();
     }
 
     @Test
     public void testNavigationWhenLoggedIn() {
-        // Login first
-        clickElement("[data-testid='login-button']");
-        waitForElementVisible("[data-testid='email-input']");
-        driver.findElement(By.cssSelector("[data-testid='email-input']")).sendKeys("test@example.com");
-        driver.findElement(By.cssSelector("[data-testid='password-input']")).sendKeys("Test123!@#");
-        clickElement("[data-testid='submit-button']");
+        // Login first as this thread's own user, through the API rather than the login modal
+        loginAsFixtureUser();
         waitForElementVisible("[data-testid='user-menu']");
         
         // Test navigation with user menu
-        clickElement("[data-testid='user-menu']");
-        waitForElementVisible("[data-testid='profile-link']");
-        clickElement("[data-testid='profile-link']");
-        waitForElementVisible("[data-testid='page-title']");
+        new NavigationPage(getDriver()).navigateToProfile();
         
         // Test settings link
         clickElement("[data-testid='user-menu']");
         waitForElementVisible("[data-testid='settings-link']");
         clickElement("[data-testid='settings-link']");
+        awaitAppIdle();
         waitForElementVisible("[data-testid='page-title']");
         
         // Test logout
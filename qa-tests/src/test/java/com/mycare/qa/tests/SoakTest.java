@@ -0,0 +1,52 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.config.TestBase;
+import com.mycare.qa.load.SoakRunner;
+import com.mycare.qa.pages.HomePage;
+import com.mycare.qa.pages.NavigationPage;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Long-running leak checks: one session repeats a flow thousands of times while the runner samples heap, DOM and
+ * listener counts. Run with the soak Maven profile: mvn test -Psoak -Dsoak.iterations=5000
+ */
+public class SoakTest extends TestBase {
+
+    @Test
+    public void testNavigationDoesNotLeak() {
+        loginAsFixtureUser();
+        NavigationPage navigationPage = new NavigationPage(getDriver());
+
+        SoakRunner.Result result = new SoakRunner(getDriver(), SoakRunner.Config.fromProperties("navigation"))
+                .run(() -> {
+                    navigationPage.navigateToServices();
+                    navigationPage.navigateToAbout();
+                    navigationPage.navigateToProfile();
+                    navigationPage.navigateToHome();
+                });
+
+        assertNoLeak(result);
+    }
+
+    @Test
+    public void testLoginModalDoesNotLeak() {
+        HomePage homePage = new HomePage(getDriver());
+
+        SoakRunner.Result result = new SoakRunner(getDriver(), SoakRunner.Config.fromProperties("login-modal"))
+                .run(() -> {
+                    homePage.clickLoginButton();
+                    homePage.closeModal();
+                    waitForElementToDisappear("[data-testid='email-input']");
+                });
+
+        assertNoLeak(result);
+    }
+
+    private void assertNoLeak(SoakRunner.Result result) {
+        result.print();
+        System.out.println("Soak report: " + result.write());
+        assertTrue(result.problems().isEmpty(), String.join("; ", result.problems()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycare.qa.tests;
+
+import com.mycare.qa.config.TestBase;
+import com.mycare.qa.data.Fixture;
+import com.mycare.qa.driver.NetworkConditions;
+import com.mycare.qa.pages.BulkOrderPage;
+import com.mycare.qa.pages.CommunityPage;
+import com.mycare.qa.perf.PerfBudget;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Community and bulk order pages as a member on a mid-range phone: Fast 3G and a 4x slower CPU. The timings land in
+ * the perf reports and baseline like any other test's. Run with the throttled Maven profile: mvn test -Pthrottled
+ */
+@NetworkConditions(network = "FAST_3G", cpuSlowdown = 4)
+public class ThrottledPagesTest extends TestBase {
+
+    @Test
+    @PerfBudget(label = "openCommunity", max = 8000, warnOnly = true)
+    public void testCommunityPageOnSlowNetwork() {
+        Fixture member = loginAsFixtureUser();
+        CommunityPage communityPage = new CommunityPage(getDriver());
+        communityPage.open(appUrl, member.communityId());
+
+        assertFalse(communityPage.getCommunityName().isBlank(), "Community name should be shown");
+        assertTrue(communityPage.isMember(), "Fixture user should be a member of the community it created");
+    }
+
+    @Test
+    @PerfBudget(label = "openBulkOrder", max = 4000, warnOnly = true)
+    public void testBulkOrderFormOnSlowNetwork() {
+        Fixture member = loginAsFixtureUser();
+        CommunityPage communityPage = new CommunityPage(getDriver());
+        communityPage.open(appUrl, member.communityId());
+
+        BulkOrderPage bulkOrderPage = communityPage.openPlaceOrder();
+        assertTrue(bulkOrderPage.getProductCount() > 0, "Bulk order form should list the community's products");
+    }
+}